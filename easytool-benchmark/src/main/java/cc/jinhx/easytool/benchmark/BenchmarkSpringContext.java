@@ -0,0 +1,51 @@
+package cc.jinhx.easytool.benchmark;
+
+import cc.jinhx.easytool.benchmark.chain.BenchmarkChains;
+import cc.jinhx.easytool.benchmark.node.DiamondNodes;
+import cc.jinhx.easytool.benchmark.node.FanInNodes;
+import cc.jinhx.easytool.benchmark.node.FanOutNodes;
+import cc.jinhx.easytool.benchmark.node.LinearNodes;
+import cc.jinhx.easytool.process.SpringUtil;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Objects;
+
+/**
+ * 最小spring上下文，只注册基准测试节点，不做组件扫描
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class BenchmarkSpringContext {
+
+    private static volatile GenericApplicationContext applicationContext;
+
+    private BenchmarkSpringContext() {
+    }
+
+    /**
+     * 初始化上下文，链路创建前调用，重复调用只初始化一次
+     */
+    public static synchronized void init() {
+        if (Objects.nonNull(applicationContext)) {
+            return;
+        }
+
+        GenericApplicationContext context = new GenericApplicationContext();
+        for (Class<?> nodesClass : new Class<?>[]{LinearNodes.class, FanOutNodes.class, FanInNodes.class, DiamondNodes.class}) {
+            for (Class<? extends AbstractNode> nodeClass : BenchmarkChains.nestedNodeClasses(nodesClass)) {
+                registerBean(context, nodeClass);
+            }
+        }
+        context.refresh();
+
+        SpringUtil.load(context);
+        applicationContext = context;
+    }
+
+    private static <N extends AbstractNode> void registerBean(GenericApplicationContext context, Class<N> nodeClass) {
+        context.registerBean(nodeClass);
+    }
+
+}
@@ -0,0 +1,88 @@
+package cc.jinhx.easytool.benchmark;
+
+import cc.jinhx.easytool.benchmark.chain.BenchmarkChain;
+import cc.jinhx.easytool.benchmark.chain.BenchmarkChains;
+import cc.jinhx.easytool.benchmark.context.BenchmarkContext;
+import cc.jinhx.easytool.process.ProcessResult;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 链路执行开销基准测试，覆盖不同DAG形状，空节点测量纯框架开销，休眠节点测量调度和并行度
+ * <p>
+ * 运行：mvn -pl easytool-benchmark -am package，然后 java -jar easytool-benchmark/target/benchmarks.jar ChainBenchmark -prof gc
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChainBenchmark {
+
+    public enum Shape {
+
+        LINEAR_5(BenchmarkChains.Linear5Chain::new),
+        LINEAR_20(BenchmarkChains.Linear20Chain::new),
+        LINEAR_100(BenchmarkChains.Linear100Chain::new),
+        FAN_OUT(BenchmarkChains.FanOutChain::new),
+        DIAMOND(BenchmarkChains.InterruptDiamondChain::new),
+        FAN_IN(BenchmarkChains.FanInChain::new),
+        ;
+
+        private final Supplier<BenchmarkChain> createChain;
+
+        Shape(Supplier<BenchmarkChain> createChain) {
+            this.createChain = createChain;
+        }
+
+    }
+
+    @Param({"LINEAR_5", "LINEAR_20", "LINEAR_100", "FAN_OUT", "DIAMOND", "FAN_IN"})
+    public Shape shape;
+
+    /**
+     * 节点休眠时间，单位毫秒，0为空节点
+     */
+    @Param({"0", "1"})
+    public long nodeSleepMillis;
+
+    private BenchmarkChain chain;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSpringContext.init();
+        chain = shape.createChain.get();
+    }
+
+    @Benchmark
+    public ProcessResult<BenchmarkContext> execute() {
+        BenchmarkContext benchmarkContext = new BenchmarkContext();
+        benchmarkContext.setNodeSleepMillis(nodeSleepMillis);
+        return checkSuccess(chain.execute(ChainContext.create(benchmarkContext, "benchmark")));
+    }
+
+    @Benchmark
+    public ProcessResult<BenchmarkContext> executeAsync() {
+        BenchmarkContext benchmarkContext = new BenchmarkContext();
+        benchmarkContext.setNodeSleepMillis(nodeSleepMillis);
+        return checkSuccess(chain.executeAsync(ChainContext.create(benchmarkContext, "benchmark")).join());
+    }
+
+    /**
+     * 结果不成功说明测量的不是正常路径，直接失败
+     */
+    private static ProcessResult<BenchmarkContext> checkSuccess(ProcessResult<BenchmarkContext> processResult) {
+        if (!processResult.isSuccess()) {
+            throw new IllegalStateException("benchmark chain fail code=" + processResult.getCode() + " msg=" + processResult.getMsg());
+        }
+        return processResult;
+    }
+
+}
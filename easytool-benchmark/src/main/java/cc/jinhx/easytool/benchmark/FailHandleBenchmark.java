@@ -0,0 +1,64 @@
+package cc.jinhx.easytool.benchmark;
+
+import cc.jinhx.easytool.benchmark.chain.BenchmarkChain;
+import cc.jinhx.easytool.benchmark.chain.BenchmarkChains;
+import cc.jinhx.easytool.benchmark.context.BenchmarkContext;
+import cc.jinhx.easytool.process.ProcessResult;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.chain.ChainNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节点失败处理开销基准测试，菱形链路的Right节点必定失败，分别走中断、抛弃和重试
+ * <p>
+ * 运行：java -jar easytool-benchmark/target/benchmarks.jar FailHandleBenchmark -prof gc
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FailHandleBenchmark {
+
+    @Param({"INTERRUPT", "ABANDON", "RETRY", "HEDGE"})
+    public ChainNode.FailHandleEnum failHandle;
+
+    private BenchmarkChain chain;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSpringContext.init();
+        switch (failHandle) {
+            case ABANDON:
+                chain = new BenchmarkChains.AbandonDiamondChain();
+                break;
+            case RETRY:
+                chain = new BenchmarkChains.RetryDiamondChain();
+                break;
+            case HEDGE:
+                chain = new BenchmarkChains.HedgeDiamondChain();
+                break;
+            default:
+                chain = new BenchmarkChains.InterruptDiamondChain();
+        }
+    }
+
+    @Benchmark
+    public ProcessResult<BenchmarkContext> execute() {
+        BenchmarkContext benchmarkContext = new BenchmarkContext();
+        benchmarkContext.setFail(true);
+        ProcessResult<BenchmarkContext> processResult = chain.execute(ChainContext.create(benchmarkContext, "benchmark"));
+        // 只有抛弃节点时链路成功
+        if (processResult.isSuccess() != (failHandle == ChainNode.FailHandleEnum.ABANDON)) {
+            throw new IllegalStateException("benchmark unexpected result code=" + processResult.getCode() + " msg=" + processResult.getMsg());
+        }
+        return processResult;
+    }
+
+}
@@ -0,0 +1,59 @@
+package cc.jinhx.easytool.benchmark;
+
+import cc.jinhx.easytool.process.HashedWheelTimer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节点超时定时器基准测试，模拟节点在超时前完成：添加定时任务后立即取消
+ * <p>
+ * 对比时间轮和ScheduledThreadPoolExecutor，后者默认不移除已取消的任务，关注-prof gc下的分配和堆积
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimerBenchmark {
+
+    private static final long DELAY_MILLIS = 500L;
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    private HashedWheelTimer hashedWheelTimer;
+
+    private ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        hashedWheelTimer = new HashedWheelTimer("benchmarkTimer_thread", 1, TimeUnit.MILLISECONDS, 512);
+        scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduledThreadPoolExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean hashedWheelTimer() {
+        return hashedWheelTimer.newTimeout(NOOP, DELAY_MILLIS, TimeUnit.MILLISECONDS).cancel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean scheduledThreadPoolExecutor() {
+        ScheduledFuture<?> scheduledFuture = scheduledThreadPoolExecutor.schedule(NOOP, DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        return scheduledFuture.cancel(false);
+    }
+
+}
@@ -0,0 +1,61 @@
+package cc.jinhx.easytool.benchmark.chain;
+
+import cc.jinhx.easytool.benchmark.context.BenchmarkContext;
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基准测试链路，超时时间足够长，测量的是正常执行路径的开销
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class BenchmarkChain extends AbstractChain<BenchmarkContext> {
+
+    private static final AtomicInteger BENCHMARK_THREAD_POOL_COUNTER = new AtomicInteger(0);
+
+    private static final int CPU_NUM = Runtime.getRuntime().availableProcessors();
+
+    private final static long CHAIN_TIMEOUT = 10000L;
+
+    private final static long NODE_TIMEOUT = 5000L;
+
+    /**
+     * 基准测试线程池，固定线程数，无界队列，避免拒绝影响结果
+     */
+    public static final ThreadPoolExecutor BENCHMARK_THREAD_POOL =
+            new ThreadPoolExecutor(
+                    CPU_NUM * 2, CPU_NUM * 2,
+                    10, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(),
+                    (Runnable r) -> {
+                        Thread thread = new Thread(r, "benchmark_thread_" + BENCHMARK_THREAD_POOL_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    @Override
+    protected long getChainTimeout() {
+        return CHAIN_TIMEOUT;
+    }
+
+    @Override
+    protected ExecutorService getThreadPool() {
+        return BENCHMARK_THREAD_POOL;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<BenchmarkContext> chainContext) {
+    }
+
+    public static long getNodeTimeout() {
+        return NODE_TIMEOUT;
+    }
+
+}
@@ -0,0 +1,157 @@
+package cc.jinhx.easytool.benchmark.chain;
+
+import cc.jinhx.easytool.benchmark.node.DiamondNodes;
+import cc.jinhx.easytool.benchmark.node.FanInNodes;
+import cc.jinhx.easytool.benchmark.node.FanOutNodes;
+import cc.jinhx.easytool.benchmark.node.LinearNodes;
+import cc.jinhx.easytool.process.chain.ChainNode;
+import cc.jinhx.easytool.process.node.AbstractNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基准测试链路，按DAG形状和失败处理方式划分
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class BenchmarkChains {
+
+    private BenchmarkChains() {
+    }
+
+    /**
+     * 线性链路
+     */
+    public abstract static class LinearChain extends BenchmarkChain {
+
+        /**
+         * 链路长度，在父类构造方法中调用，只能返回常量
+         */
+        protected abstract int getLength();
+
+        @Override
+        protected void setNodeInfo() {
+            this.addInterruptNodes(LinearNodes.getNodeClasses(getLength()), BenchmarkChain::getNodeTimeout);
+        }
+
+    }
+
+    public static class Linear5Chain extends LinearChain {
+        @Override
+        protected int getLength() {
+            return 5;
+        }
+    }
+
+    public static class Linear20Chain extends LinearChain {
+        @Override
+        protected int getLength() {
+            return 20;
+        }
+    }
+
+    public static class Linear100Chain extends LinearChain {
+        @Override
+        protected int getLength() {
+            return 100;
+        }
+    }
+
+    /**
+     * 宽扇出链路
+     */
+    public static class FanOutChain extends BenchmarkChain {
+        @Override
+        protected void setNodeInfo() {
+            this.addInterruptNodes(nestedNodeClasses(FanOutNodes.class), BenchmarkChain::getNodeTimeout);
+        }
+    }
+
+    /**
+     * 深扇入链路
+     */
+    public static class FanInChain extends BenchmarkChain {
+        @Override
+        protected void setNodeInfo() {
+            this.addInterruptNodes(nestedNodeClasses(FanInNodes.class), BenchmarkChain::getNodeTimeout);
+        }
+    }
+
+    /**
+     * 菱形链路，Right节点的失败处理方式由子类决定
+     */
+    public abstract static class DiamondChain extends BenchmarkChain {
+
+        /**
+         * Right节点的失败处理方式，在父类构造方法中调用，只能返回常量
+         */
+        protected abstract ChainNode.FailHandleEnum getFailHandle();
+
+        @Override
+        protected void setNodeInfo() {
+            this.addInterruptNodes(Arrays.asList(DiamondNodes.Top.class, DiamondNodes.Left.class, DiamondNodes.Bottom.class), BenchmarkChain::getNodeTimeout);
+            switch (getFailHandle()) {
+                case ABANDON:
+                    this.addAbandonNode(DiamondNodes.Right.class, BenchmarkChain::getNodeTimeout);
+                    break;
+                case RETRY:
+                    this.addRetryNode(DiamondNodes.Right.class, ChainNode.RetryTimesEnum.TWO, BenchmarkChain::getNodeTimeout);
+                    break;
+                case HEDGE:
+                    this.addHedgeNode(DiamondNodes.Right.class, () -> 1L, BenchmarkChain::getNodeTimeout);
+                    break;
+                default:
+                    this.addInterruptNode(DiamondNodes.Right.class, BenchmarkChain::getNodeTimeout);
+            }
+        }
+
+    }
+
+    public static class InterruptDiamondChain extends DiamondChain {
+        @Override
+        protected ChainNode.FailHandleEnum getFailHandle() {
+            return ChainNode.FailHandleEnum.INTERRUPT;
+        }
+    }
+
+    public static class AbandonDiamondChain extends DiamondChain {
+        @Override
+        protected ChainNode.FailHandleEnum getFailHandle() {
+            return ChainNode.FailHandleEnum.ABANDON;
+        }
+    }
+
+    public static class RetryDiamondChain extends DiamondChain {
+        @Override
+        protected ChainNode.FailHandleEnum getFailHandle() {
+            return ChainNode.FailHandleEnum.RETRY;
+        }
+    }
+
+    public static class HedgeDiamondChain extends DiamondChain {
+        @Override
+        protected ChainNode.FailHandleEnum getFailHandle() {
+            return ChainNode.FailHandleEnum.HEDGE;
+        }
+    }
+
+    /**
+     * 获取内部定义的全部节点class
+     *
+     * @param nodesClass nodesClass
+     * @return 节点class集合
+     */
+    public static List<Class<? extends AbstractNode>> nestedNodeClasses(Class<?> nodesClass) {
+        List<Class<? extends AbstractNode>> nodeClasses = new ArrayList<>();
+        for (Class<?> nodeClass : nodesClass.getDeclaredClasses()) {
+            if (AbstractNode.class.isAssignableFrom(nodeClass)) {
+                nodeClasses.add(nodeClass.asSubclass(AbstractNode.class));
+            }
+        }
+        return nodeClasses;
+    }
+
+}
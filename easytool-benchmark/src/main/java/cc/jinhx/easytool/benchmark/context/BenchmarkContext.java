@@ -0,0 +1,24 @@
+package cc.jinhx.easytool.benchmark.context;
+
+import lombok.Data;
+
+/**
+ * BenchmarkContext
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+public class BenchmarkContext {
+
+    /**
+     * 每个节点的休眠时间，单位毫秒，0表示空节点
+     */
+    private long nodeSleepMillis;
+
+    /**
+     * 失败节点是否抛出异常
+     */
+    private boolean fail;
+
+}
@@ -0,0 +1,73 @@
+package cc.jinhx.easytool.benchmark.node;
+
+import cc.jinhx.easytool.benchmark.context.BenchmarkContext;
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 基准测试节点，按上下文空跑或休眠，失败节点在上下文要求时抛出异常
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class BenchmarkNode extends AbstractNode<BenchmarkContext> {
+
+    private final Set<Class<? extends AbstractNode>> dependsOnNodes;
+
+    private final boolean failNode;
+
+    @SafeVarargs
+    protected BenchmarkNode(Class<? extends AbstractNode>... dependsOnNodes) {
+        this(false, dependsOnNodes);
+    }
+
+    @SafeVarargs
+    protected BenchmarkNode(boolean failNode, Class<? extends AbstractNode>... dependsOnNodes) {
+        this.failNode = failNode;
+        this.dependsOnNodes = new HashSet<>(Arrays.asList(dependsOnNodes));
+    }
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return dependsOnNodes;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<BenchmarkContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void execute(ChainContext<BenchmarkContext> chainContext) {
+        BenchmarkContext contextInfo = chainContext.getContextInfo();
+        if (failNode && contextInfo.isFail()) {
+            throw new IllegalStateException("benchmark node fail");
+        }
+
+        if (contextInfo.getNodeSleepMillis() > 0) {
+            try {
+                Thread.sleep(contextInfo.getNodeSleepMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<BenchmarkContext> chainContext) {
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<BenchmarkContext> chainContext, BusinessException e) {
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<BenchmarkContext> chainContext, Exception e) {
+    }
+
+}
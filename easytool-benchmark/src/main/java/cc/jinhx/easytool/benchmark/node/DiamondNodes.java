@@ -0,0 +1,38 @@
+package cc.jinhx.easytool.benchmark.node;
+
+/**
+ * 菱形链路节点，Top -> (Left, Right) -> Bottom，Right为失败节点
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class DiamondNodes {
+
+    private DiamondNodes() {
+    }
+
+    public static class Top extends BenchmarkNode {
+        public Top() {
+            super();
+        }
+    }
+
+    public static class Left extends BenchmarkNode {
+        public Left() {
+            super(Top.class);
+        }
+    }
+
+    public static class Right extends BenchmarkNode {
+        public Right() {
+            super(true, Top.class);
+        }
+    }
+
+    public static class Bottom extends BenchmarkNode {
+        public Bottom() {
+            super(Left.class, Right.class);
+        }
+    }
+
+}
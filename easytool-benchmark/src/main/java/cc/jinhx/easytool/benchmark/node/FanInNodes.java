@@ -0,0 +1,200 @@
+package cc.jinhx.easytool.benchmark.node;
+
+/**
+ * 深扇入链路节点，16个首节点两两汇聚，共5层，最后汇聚到一个节点
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class FanInNodes {
+
+    private FanInNodes() {
+    }
+
+    public static class Level0Node0 extends BenchmarkNode {
+        public Level0Node0() {
+            super();
+        }
+    }
+
+    public static class Level0Node1 extends BenchmarkNode {
+        public Level0Node1() {
+            super();
+        }
+    }
+
+    public static class Level0Node2 extends BenchmarkNode {
+        public Level0Node2() {
+            super();
+        }
+    }
+
+    public static class Level0Node3 extends BenchmarkNode {
+        public Level0Node3() {
+            super();
+        }
+    }
+
+    public static class Level0Node4 extends BenchmarkNode {
+        public Level0Node4() {
+            super();
+        }
+    }
+
+    public static class Level0Node5 extends BenchmarkNode {
+        public Level0Node5() {
+            super();
+        }
+    }
+
+    public static class Level0Node6 extends BenchmarkNode {
+        public Level0Node6() {
+            super();
+        }
+    }
+
+    public static class Level0Node7 extends BenchmarkNode {
+        public Level0Node7() {
+            super();
+        }
+    }
+
+    public static class Level0Node8 extends BenchmarkNode {
+        public Level0Node8() {
+            super();
+        }
+    }
+
+    public static class Level0Node9 extends BenchmarkNode {
+        public Level0Node9() {
+            super();
+        }
+    }
+
+    public static class Level0Node10 extends BenchmarkNode {
+        public Level0Node10() {
+            super();
+        }
+    }
+
+    public static class Level0Node11 extends BenchmarkNode {
+        public Level0Node11() {
+            super();
+        }
+    }
+
+    public static class Level0Node12 extends BenchmarkNode {
+        public Level0Node12() {
+            super();
+        }
+    }
+
+    public static class Level0Node13 extends BenchmarkNode {
+        public Level0Node13() {
+            super();
+        }
+    }
+
+    public static class Level0Node14 extends BenchmarkNode {
+        public Level0Node14() {
+            super();
+        }
+    }
+
+    public static class Level0Node15 extends BenchmarkNode {
+        public Level0Node15() {
+            super();
+        }
+    }
+
+    public static class Level1Node0 extends BenchmarkNode {
+        public Level1Node0() {
+            super(Level0Node0.class, Level0Node1.class);
+        }
+    }
+
+    public static class Level1Node1 extends BenchmarkNode {
+        public Level1Node1() {
+            super(Level0Node2.class, Level0Node3.class);
+        }
+    }
+
+    public static class Level1Node2 extends BenchmarkNode {
+        public Level1Node2() {
+            super(Level0Node4.class, Level0Node5.class);
+        }
+    }
+
+    public static class Level1Node3 extends BenchmarkNode {
+        public Level1Node3() {
+            super(Level0Node6.class, Level0Node7.class);
+        }
+    }
+
+    public static class Level1Node4 extends BenchmarkNode {
+        public Level1Node4() {
+            super(Level0Node8.class, Level0Node9.class);
+        }
+    }
+
+    public static class Level1Node5 extends BenchmarkNode {
+        public Level1Node5() {
+            super(Level0Node10.class, Level0Node11.class);
+        }
+    }
+
+    public static class Level1Node6 extends BenchmarkNode {
+        public Level1Node6() {
+            super(Level0Node12.class, Level0Node13.class);
+        }
+    }
+
+    public static class Level1Node7 extends BenchmarkNode {
+        public Level1Node7() {
+            super(Level0Node14.class, Level0Node15.class);
+        }
+    }
+
+    public static class Level2Node0 extends BenchmarkNode {
+        public Level2Node0() {
+            super(Level1Node0.class, Level1Node1.class);
+        }
+    }
+
+    public static class Level2Node1 extends BenchmarkNode {
+        public Level2Node1() {
+            super(Level1Node2.class, Level1Node3.class);
+        }
+    }
+
+    public static class Level2Node2 extends BenchmarkNode {
+        public Level2Node2() {
+            super(Level1Node4.class, Level1Node5.class);
+        }
+    }
+
+    public static class Level2Node3 extends BenchmarkNode {
+        public Level2Node3() {
+            super(Level1Node6.class, Level1Node7.class);
+        }
+    }
+
+    public static class Level3Node0 extends BenchmarkNode {
+        public Level3Node0() {
+            super(Level2Node0.class, Level2Node1.class);
+        }
+    }
+
+    public static class Level3Node1 extends BenchmarkNode {
+        public Level3Node1() {
+            super(Level2Node2.class, Level2Node3.class);
+        }
+    }
+
+    public static class Level4Node0 extends BenchmarkNode {
+        public Level4Node0() {
+            super(Level3Node0.class, Level3Node1.class);
+        }
+    }
+
+}
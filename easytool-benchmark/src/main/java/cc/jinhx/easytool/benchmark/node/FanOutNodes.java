@@ -0,0 +1,214 @@
+package cc.jinhx.easytool.benchmark.node;
+
+/**
+ * 宽扇出链路节点，Root完成后Leaf0到Leaf31同时启动
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class FanOutNodes {
+
+    public static final int WIDTH = 32;
+
+    private FanOutNodes() {
+    }
+
+    public static class Root extends BenchmarkNode {
+        public Root() {
+            super();
+        }
+    }
+
+    public static class Leaf0 extends BenchmarkNode {
+        public Leaf0() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf1 extends BenchmarkNode {
+        public Leaf1() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf2 extends BenchmarkNode {
+        public Leaf2() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf3 extends BenchmarkNode {
+        public Leaf3() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf4 extends BenchmarkNode {
+        public Leaf4() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf5 extends BenchmarkNode {
+        public Leaf5() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf6 extends BenchmarkNode {
+        public Leaf6() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf7 extends BenchmarkNode {
+        public Leaf7() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf8 extends BenchmarkNode {
+        public Leaf8() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf9 extends BenchmarkNode {
+        public Leaf9() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf10 extends BenchmarkNode {
+        public Leaf10() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf11 extends BenchmarkNode {
+        public Leaf11() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf12 extends BenchmarkNode {
+        public Leaf12() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf13 extends BenchmarkNode {
+        public Leaf13() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf14 extends BenchmarkNode {
+        public Leaf14() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf15 extends BenchmarkNode {
+        public Leaf15() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf16 extends BenchmarkNode {
+        public Leaf16() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf17 extends BenchmarkNode {
+        public Leaf17() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf18 extends BenchmarkNode {
+        public Leaf18() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf19 extends BenchmarkNode {
+        public Leaf19() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf20 extends BenchmarkNode {
+        public Leaf20() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf21 extends BenchmarkNode {
+        public Leaf21() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf22 extends BenchmarkNode {
+        public Leaf22() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf23 extends BenchmarkNode {
+        public Leaf23() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf24 extends BenchmarkNode {
+        public Leaf24() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf25 extends BenchmarkNode {
+        public Leaf25() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf26 extends BenchmarkNode {
+        public Leaf26() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf27 extends BenchmarkNode {
+        public Leaf27() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf28 extends BenchmarkNode {
+        public Leaf28() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf29 extends BenchmarkNode {
+        public Leaf29() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf30 extends BenchmarkNode {
+        public Leaf30() {
+            super(Root.class);
+        }
+    }
+
+    public static class Leaf31 extends BenchmarkNode {
+        public Leaf31() {
+            super(Root.class);
+        }
+    }
+
+}
@@ -0,0 +1,642 @@
+package cc.jinhx.easytool.benchmark.node;
+
+import cc.jinhx.easytool.process.node.AbstractNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 线性链路节点，Node(i)依赖Node(i-1)，取前n个即为长度n的线性链路
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public final class LinearNodes {
+
+    public static final int MAX_LENGTH = 100;
+
+    private LinearNodes() {
+    }
+
+    /**
+     * 获取前length个节点
+     *
+     * @param length length
+     * @return 节点class集合
+     */
+    public static List<Class<? extends AbstractNode>> getNodeClasses(int length) {
+        if (length <= 0 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("length must be between 1 and " + MAX_LENGTH);
+        }
+
+        List<Class<? extends AbstractNode>> nodeClasses = new ArrayList<>(length);
+        for (Class<?> nodeClass : LinearNodes.class.getDeclaredClasses()) {
+            String name = nodeClass.getSimpleName();
+            if (Integer.parseInt(name.substring("Node".length())) < length) {
+                nodeClasses.add(nodeClass.asSubclass(AbstractNode.class));
+            }
+        }
+        return nodeClasses;
+    }
+
+    public static class Node0 extends BenchmarkNode {
+        public Node0() {
+            super();
+        }
+    }
+
+    public static class Node1 extends BenchmarkNode {
+        public Node1() {
+            super(Node0.class);
+        }
+    }
+
+    public static class Node2 extends BenchmarkNode {
+        public Node2() {
+            super(Node1.class);
+        }
+    }
+
+    public static class Node3 extends BenchmarkNode {
+        public Node3() {
+            super(Node2.class);
+        }
+    }
+
+    public static class Node4 extends BenchmarkNode {
+        public Node4() {
+            super(Node3.class);
+        }
+    }
+
+    public static class Node5 extends BenchmarkNode {
+        public Node5() {
+            super(Node4.class);
+        }
+    }
+
+    public static class Node6 extends BenchmarkNode {
+        public Node6() {
+            super(Node5.class);
+        }
+    }
+
+    public static class Node7 extends BenchmarkNode {
+        public Node7() {
+            super(Node6.class);
+        }
+    }
+
+    public static class Node8 extends BenchmarkNode {
+        public Node8() {
+            super(Node7.class);
+        }
+    }
+
+    public static class Node9 extends BenchmarkNode {
+        public Node9() {
+            super(Node8.class);
+        }
+    }
+
+    public static class Node10 extends BenchmarkNode {
+        public Node10() {
+            super(Node9.class);
+        }
+    }
+
+    public static class Node11 extends BenchmarkNode {
+        public Node11() {
+            super(Node10.class);
+        }
+    }
+
+    public static class Node12 extends BenchmarkNode {
+        public Node12() {
+            super(Node11.class);
+        }
+    }
+
+    public static class Node13 extends BenchmarkNode {
+        public Node13() {
+            super(Node12.class);
+        }
+    }
+
+    public static class Node14 extends BenchmarkNode {
+        public Node14() {
+            super(Node13.class);
+        }
+    }
+
+    public static class Node15 extends BenchmarkNode {
+        public Node15() {
+            super(Node14.class);
+        }
+    }
+
+    public static class Node16 extends BenchmarkNode {
+        public Node16() {
+            super(Node15.class);
+        }
+    }
+
+    public static class Node17 extends BenchmarkNode {
+        public Node17() {
+            super(Node16.class);
+        }
+    }
+
+    public static class Node18 extends BenchmarkNode {
+        public Node18() {
+            super(Node17.class);
+        }
+    }
+
+    public static class Node19 extends BenchmarkNode {
+        public Node19() {
+            super(Node18.class);
+        }
+    }
+
+    public static class Node20 extends BenchmarkNode {
+        public Node20() {
+            super(Node19.class);
+        }
+    }
+
+    public static class Node21 extends BenchmarkNode {
+        public Node21() {
+            super(Node20.class);
+        }
+    }
+
+    public static class Node22 extends BenchmarkNode {
+        public Node22() {
+            super(Node21.class);
+        }
+    }
+
+    public static class Node23 extends BenchmarkNode {
+        public Node23() {
+            super(Node22.class);
+        }
+    }
+
+    public static class Node24 extends BenchmarkNode {
+        public Node24() {
+            super(Node23.class);
+        }
+    }
+
+    public static class Node25 extends BenchmarkNode {
+        public Node25() {
+            super(Node24.class);
+        }
+    }
+
+    public static class Node26 extends BenchmarkNode {
+        public Node26() {
+            super(Node25.class);
+        }
+    }
+
+    public static class Node27 extends BenchmarkNode {
+        public Node27() {
+            super(Node26.class);
+        }
+    }
+
+    public static class Node28 extends BenchmarkNode {
+        public Node28() {
+            super(Node27.class);
+        }
+    }
+
+    public static class Node29 extends BenchmarkNode {
+        public Node29() {
+            super(Node28.class);
+        }
+    }
+
+    public static class Node30 extends BenchmarkNode {
+        public Node30() {
+            super(Node29.class);
+        }
+    }
+
+    public static class Node31 extends BenchmarkNode {
+        public Node31() {
+            super(Node30.class);
+        }
+    }
+
+    public static class Node32 extends BenchmarkNode {
+        public Node32() {
+            super(Node31.class);
+        }
+    }
+
+    public static class Node33 extends BenchmarkNode {
+        public Node33() {
+            super(Node32.class);
+        }
+    }
+
+    public static class Node34 extends BenchmarkNode {
+        public Node34() {
+            super(Node33.class);
+        }
+    }
+
+    public static class Node35 extends BenchmarkNode {
+        public Node35() {
+            super(Node34.class);
+        }
+    }
+
+    public static class Node36 extends BenchmarkNode {
+        public Node36() {
+            super(Node35.class);
+        }
+    }
+
+    public static class Node37 extends BenchmarkNode {
+        public Node37() {
+            super(Node36.class);
+        }
+    }
+
+    public static class Node38 extends BenchmarkNode {
+        public Node38() {
+            super(Node37.class);
+        }
+    }
+
+    public static class Node39 extends BenchmarkNode {
+        public Node39() {
+            super(Node38.class);
+        }
+    }
+
+    public static class Node40 extends BenchmarkNode {
+        public Node40() {
+            super(Node39.class);
+        }
+    }
+
+    public static class Node41 extends BenchmarkNode {
+        public Node41() {
+            super(Node40.class);
+        }
+    }
+
+    public static class Node42 extends BenchmarkNode {
+        public Node42() {
+            super(Node41.class);
+        }
+    }
+
+    public static class Node43 extends BenchmarkNode {
+        public Node43() {
+            super(Node42.class);
+        }
+    }
+
+    public static class Node44 extends BenchmarkNode {
+        public Node44() {
+            super(Node43.class);
+        }
+    }
+
+    public static class Node45 extends BenchmarkNode {
+        public Node45() {
+            super(Node44.class);
+        }
+    }
+
+    public static class Node46 extends BenchmarkNode {
+        public Node46() {
+            super(Node45.class);
+        }
+    }
+
+    public static class Node47 extends BenchmarkNode {
+        public Node47() {
+            super(Node46.class);
+        }
+    }
+
+    public static class Node48 extends BenchmarkNode {
+        public Node48() {
+            super(Node47.class);
+        }
+    }
+
+    public static class Node49 extends BenchmarkNode {
+        public Node49() {
+            super(Node48.class);
+        }
+    }
+
+    public static class Node50 extends BenchmarkNode {
+        public Node50() {
+            super(Node49.class);
+        }
+    }
+
+    public static class Node51 extends BenchmarkNode {
+        public Node51() {
+            super(Node50.class);
+        }
+    }
+
+    public static class Node52 extends BenchmarkNode {
+        public Node52() {
+            super(Node51.class);
+        }
+    }
+
+    public static class Node53 extends BenchmarkNode {
+        public Node53() {
+            super(Node52.class);
+        }
+    }
+
+    public static class Node54 extends BenchmarkNode {
+        public Node54() {
+            super(Node53.class);
+        }
+    }
+
+    public static class Node55 extends BenchmarkNode {
+        public Node55() {
+            super(Node54.class);
+        }
+    }
+
+    public static class Node56 extends BenchmarkNode {
+        public Node56() {
+            super(Node55.class);
+        }
+    }
+
+    public static class Node57 extends BenchmarkNode {
+        public Node57() {
+            super(Node56.class);
+        }
+    }
+
+    public static class Node58 extends BenchmarkNode {
+        public Node58() {
+            super(Node57.class);
+        }
+    }
+
+    public static class Node59 extends BenchmarkNode {
+        public Node59() {
+            super(Node58.class);
+        }
+    }
+
+    public static class Node60 extends BenchmarkNode {
+        public Node60() {
+            super(Node59.class);
+        }
+    }
+
+    public static class Node61 extends BenchmarkNode {
+        public Node61() {
+            super(Node60.class);
+        }
+    }
+
+    public static class Node62 extends BenchmarkNode {
+        public Node62() {
+            super(Node61.class);
+        }
+    }
+
+    public static class Node63 extends BenchmarkNode {
+        public Node63() {
+            super(Node62.class);
+        }
+    }
+
+    public static class Node64 extends BenchmarkNode {
+        public Node64() {
+            super(Node63.class);
+        }
+    }
+
+    public static class Node65 extends BenchmarkNode {
+        public Node65() {
+            super(Node64.class);
+        }
+    }
+
+    public static class Node66 extends BenchmarkNode {
+        public Node66() {
+            super(Node65.class);
+        }
+    }
+
+    public static class Node67 extends BenchmarkNode {
+        public Node67() {
+            super(Node66.class);
+        }
+    }
+
+    public static class Node68 extends BenchmarkNode {
+        public Node68() {
+            super(Node67.class);
+        }
+    }
+
+    public static class Node69 extends BenchmarkNode {
+        public Node69() {
+            super(Node68.class);
+        }
+    }
+
+    public static class Node70 extends BenchmarkNode {
+        public Node70() {
+            super(Node69.class);
+        }
+    }
+
+    public static class Node71 extends BenchmarkNode {
+        public Node71() {
+            super(Node70.class);
+        }
+    }
+
+    public static class Node72 extends BenchmarkNode {
+        public Node72() {
+            super(Node71.class);
+        }
+    }
+
+    public static class Node73 extends BenchmarkNode {
+        public Node73() {
+            super(Node72.class);
+        }
+    }
+
+    public static class Node74 extends BenchmarkNode {
+        public Node74() {
+            super(Node73.class);
+        }
+    }
+
+    public static class Node75 extends BenchmarkNode {
+        public Node75() {
+            super(Node74.class);
+        }
+    }
+
+    public static class Node76 extends BenchmarkNode {
+        public Node76() {
+            super(Node75.class);
+        }
+    }
+
+    public static class Node77 extends BenchmarkNode {
+        public Node77() {
+            super(Node76.class);
+        }
+    }
+
+    public static class Node78 extends BenchmarkNode {
+        public Node78() {
+            super(Node77.class);
+        }
+    }
+
+    public static class Node79 extends BenchmarkNode {
+        public Node79() {
+            super(Node78.class);
+        }
+    }
+
+    public static class Node80 extends BenchmarkNode {
+        public Node80() {
+            super(Node79.class);
+        }
+    }
+
+    public static class Node81 extends BenchmarkNode {
+        public Node81() {
+            super(Node80.class);
+        }
+    }
+
+    public static class Node82 extends BenchmarkNode {
+        public Node82() {
+            super(Node81.class);
+        }
+    }
+
+    public static class Node83 extends BenchmarkNode {
+        public Node83() {
+            super(Node82.class);
+        }
+    }
+
+    public static class Node84 extends BenchmarkNode {
+        public Node84() {
+            super(Node83.class);
+        }
+    }
+
+    public static class Node85 extends BenchmarkNode {
+        public Node85() {
+            super(Node84.class);
+        }
+    }
+
+    public static class Node86 extends BenchmarkNode {
+        public Node86() {
+            super(Node85.class);
+        }
+    }
+
+    public static class Node87 extends BenchmarkNode {
+        public Node87() {
+            super(Node86.class);
+        }
+    }
+
+    public static class Node88 extends BenchmarkNode {
+        public Node88() {
+            super(Node87.class);
+        }
+    }
+
+    public static class Node89 extends BenchmarkNode {
+        public Node89() {
+            super(Node88.class);
+        }
+    }
+
+    public static class Node90 extends BenchmarkNode {
+        public Node90() {
+            super(Node89.class);
+        }
+    }
+
+    public static class Node91 extends BenchmarkNode {
+        public Node91() {
+            super(Node90.class);
+        }
+    }
+
+    public static class Node92 extends BenchmarkNode {
+        public Node92() {
+            super(Node91.class);
+        }
+    }
+
+    public static class Node93 extends BenchmarkNode {
+        public Node93() {
+            super(Node92.class);
+        }
+    }
+
+    public static class Node94 extends BenchmarkNode {
+        public Node94() {
+            super(Node93.class);
+        }
+    }
+
+    public static class Node95 extends BenchmarkNode {
+        public Node95() {
+            super(Node94.class);
+        }
+    }
+
+    public static class Node96 extends BenchmarkNode {
+        public Node96() {
+            super(Node95.class);
+        }
+    }
+
+    public static class Node97 extends BenchmarkNode {
+        public Node97() {
+            super(Node96.class);
+        }
+    }
+
+    public static class Node98 extends BenchmarkNode {
+        public Node98() {
+            super(Node97.class);
+        }
+    }
+
+    public static class Node99 extends BenchmarkNode {
+        public Node99() {
+            super(Node98.class);
+        }
+    }
+
+}
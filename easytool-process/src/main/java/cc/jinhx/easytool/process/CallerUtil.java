@@ -0,0 +1,112 @@
+package cc.jinhx.easytool.process;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 调用方工具
+ * <p>
+ * Java 9及以上通过StackWalker只遍历到调用方所在的栈帧，不生成完整的调用栈。编译基线为Java 8，StackWalker通过反射获取，
+ * 低于Java 9时回退为Thread.getStackTrace
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Slf4j
+public class CallerUtil {
+
+    private static final Object STACK_WALKER;
+
+    private static final MethodHandle WALK;
+
+    private static final MethodHandle GET_CLASS_NAME;
+
+    private static final MethodHandle GET_METHOD_NAME;
+
+    static {
+        Object stackWalker = null;
+        MethodHandle walk = null;
+        MethodHandle getClassName = null;
+        MethodHandle getMethodName = null;
+        try {
+            Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            // walk是caller-sensitive方法，不能使用publicLookup
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            stackWalker = stackWalkerClass.getMethod("getInstance").invoke(null);
+            walk = lookup.findVirtual(stackWalkerClass, "walk", MethodType.methodType(Object.class, Function.class));
+            getClassName = lookup.findVirtual(stackFrameClass, "getClassName", MethodType.methodType(String.class));
+            getMethodName = lookup.findVirtual(stackFrameClass, "getMethodName", MethodType.methodType(String.class));
+        } catch (ClassNotFoundException e) {
+            // 低于Java 9
+        } catch (Exception e) {
+            log.info("process init stack walker fail error=", e);
+            stackWalker = null;
+        }
+
+        STACK_WALKER = stackWalker;
+        WALK = walk;
+        GET_CLASS_NAME = getClassName;
+        GET_METHOD_NAME = getMethodName;
+    }
+
+
+    /**
+     * 是否支持StackWalker
+     *
+     * @return 是否支持StackWalker
+     */
+    public static boolean isSupportStackWalker() {
+        return Objects.nonNull(STACK_WALKER);
+    }
+
+    /**
+     * 获取调用方的方法名，即调用栈中第一个不属于当前类和calleeClass的栈帧
+     *
+     * @param calleeClass 被调用方class
+     * @return 方法名，获取失败返回null
+     */
+    public static String getCallerMethodName(Class<?> calleeClass) {
+        String calleeClassName = calleeClass.getName();
+        if (isSupportStackWalker()) {
+            try {
+                Function<Stream<Object>, Optional<Object>> findCaller = stackFrames -> stackFrames.filter(stackFrame -> !isSkip(getClassName(stackFrame), calleeClassName)).findFirst();
+                Optional<?> caller = (Optional<?>) WALK.invoke(STACK_WALKER, findCaller);
+                return caller.map(stackFrame -> invokeString(GET_METHOD_NAME, stackFrame)).orElse(null);
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        for (StackTraceElement stackTraceElement : Thread.currentThread().getStackTrace()) {
+            if (!Thread.class.getName().equals(stackTraceElement.getClassName()) && !isSkip(stackTraceElement.getClassName(), calleeClassName)) {
+                return stackTraceElement.getMethodName();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSkip(String className, String calleeClassName) {
+        return CallerUtil.class.getName().equals(className) || calleeClassName.equals(className);
+    }
+
+    private static String getClassName(Object stackFrame) {
+        return invokeString(GET_CLASS_NAME, stackFrame);
+    }
+
+    private static String invokeString(MethodHandle methodHandle, Object stackFrame) {
+        try {
+            return (String) methodHandle.invoke(stackFrame);
+        } catch (Throwable e) {
+            throw new ProcessException(e.getMessage());
+        }
+    }
+
+}
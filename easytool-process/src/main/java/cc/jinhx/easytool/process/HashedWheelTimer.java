@@ -0,0 +1,320 @@
+package cc.jinhx.easytool.process;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 哈希时间轮定时器，添加和取消定时任务都是O(1)
+ * <p>
+ * 添加和取消只入队，由单个工作线程按刻度转移到槽位并执行到期任务，到期任务在工作线程上执行，必须足够轻量。
+ * 没有定时任务时工作线程挂起，不会空转
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Slf4j
+public class HashedWheelTimer {
+
+    /**
+     * 每个刻度的纳秒数
+     */
+    private final long tickNanos;
+
+    /**
+     * 槽位
+     */
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    /**
+     * 待转移到槽位的定时任务
+     */
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 待从槽位移除的已取消定时任务
+     */
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 未到期且未移除的定时任务数量
+     */
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final long startTime;
+
+    private final Thread workerThread;
+
+    /**
+     * 工作线程是否挂起
+     */
+    private volatile boolean idle;
+
+    /**
+     * 当前刻度，只有工作线程访问
+     */
+    private long tick;
+
+
+    /**
+     * 创建时间轮定时器
+     *
+     * @param threadName    threadName
+     * @param tickDuration  tickDuration
+     * @param unit          unit
+     * @param ticksPerWheel 槽位数量，向上取整为2的幂
+     */
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be greater than 0");
+        }
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+
+        this.workerThread = new Thread(this::run, threadName);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * 添加定时任务
+     *
+     * @param task  到期执行的任务，在工作线程上执行
+     * @param delay delay
+     * @param unit  unit
+     * @return Timeout
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pendingTimeouts.add(timeout);
+        pendingCount.incrementAndGet();
+        if (idle) {
+            LockSupport.unpark(workerThread);
+        }
+        return timeout;
+    }
+
+    /**
+     * 获取未到期且未移除的定时任务数量
+     *
+     * @return 定时任务数量
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 工作线程循环
+     */
+    private void run() {
+        while (true) {
+            if (pendingCount.get() == 0) {
+                idle = true;
+                if (pendingCount.get() == 0) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // 挂起期间槽位为空，直接跳到当前刻度
+                tick = (System.nanoTime() - startTime) / tickNanos;
+            }
+
+            long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+
+            removeCancelledTimeouts();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    /**
+     * 从槽位移除已取消的定时任务
+     */
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * 转移待添加的定时任务到槽位
+     */
+    private void transferTimeoutsToBuckets() {
+        // 限制单次转移数量，避免持续添加时饿死到期处理
+        for (int i = 0; i < 100000; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state != Timeout.ST_INIT) {
+                pendingCount.decrementAndGet();
+                continue;
+            }
+
+            long calculatedTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+            wheel[(int) (Math.max(calculatedTick, tick) & mask)].add(timeout);
+        }
+    }
+
+
+    /**
+     * 定时任务
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private volatile int state = ST_INIT;
+
+        // 以下字段只有工作线程访问
+        private long remainingRounds;
+
+        private Bucket bucket;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消定时任务，已到期或已取消返回false
+         *
+         * @return 是否取消成功
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        /**
+         * 到期执行
+         */
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.info("process timing wheel task execute fail error=", t);
+            }
+        }
+
+    }
+
+
+    /**
+     * 槽位，双向链表，只有工作线程访问
+     */
+    private final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * 执行当前刻度到期的定时任务，其余的轮数减1
+         */
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            pendingCount.decrementAndGet();
+        }
+
+    }
+
+}
@@ -51,11 +51,23 @@ public class ProcessException extends RuntimeException {
         NODE_UNREGISTERED("节点未注册"),
         NODE_REPEAT("节点重复"),
         NODE_EMPTY("节点为空"),
+        NODE_BULKHEAD_FULL("节点舱壁已满"),
+        NODE_REJECTED("节点被线程池拒绝"),
+        NODE_CIRCUIT_BREAKER_OPEN("节点已熔断"),
+        NODE_STREAM_FAIL("流式节点通道失败"),
+        NODE_STREAM_SOURCE("流式节点的数据源必须是依赖的流式节点"),
+        NODE_STREAM_REPEAT("流式节点只能有一个下游流式节点"),
+        NODE_STREAM_FAIL_HANDLE("流式节点不支持重试、对冲和内联"),
+        NODE_PARALLEL_FAIL("并行节点分片执行失败"),
+        NODE_PARALLEL_CHUNK_SIZE("并行节点分片大小必须大于0"),
 
         CHAIN_UNKNOWN("链路未知异常"),
         CHAIN_TIMEOUT("链路超时"),
         CHAIN_UNREGISTERED("链路未注册"),
-        CHAIN_INCOMPLETE("链路不完整");
+        CHAIN_INCOMPLETE("链路不完整"),
+        CHAIN_CYCLE("链路存在环"),
+        CHAIN_REJECTED("链路被准入控制拒绝"),
+        CHAIN_LIMITED("链路并发超过限制");
 
         private final String msg;
 
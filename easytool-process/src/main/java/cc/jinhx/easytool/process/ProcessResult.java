@@ -40,10 +40,20 @@ public class ProcessResult<T> implements Serializable {
         this.msg = msg;
     }
 
+    public ProcessResult(T data, int code, String msg) {
+        this.data = data;
+        this.code = code;
+        this.msg = msg;
+    }
+
     public boolean isSuccess() {
         return BaseEnum.SUCCESS.getCode() == this.code;
     }
 
+    public boolean isPartialSuccess() {
+        return BaseEnum.PARTIAL_SUCCESS.getCode() == this.code;
+    }
+
     public boolean isBusinessFail() {
         return BaseEnum.BUSINESS_FAIL.getCode() == this.code;
     }
@@ -56,6 +66,14 @@ public class ProcessResult<T> implements Serializable {
         return BaseEnum.TIMEOUT_FAIL.getCode() == this.code;
     }
 
+    public boolean isRejectedFail() {
+        return BaseEnum.REJECTED_FAIL.getCode() == this.code;
+    }
+
+    public boolean isLimitedFail() {
+        return BaseEnum.LIMITED_FAIL.getCode() == this.code;
+    }
+
 
     @AllArgsConstructor
     @Getter
@@ -64,7 +82,10 @@ public class ProcessResult<T> implements Serializable {
         SUCCESS(1, "success"),
         TIMEOUT_FAIL(2, "timeout fail"),
         BUSINESS_FAIL(3, "business fail"),
-        UNKNOW_FAIL(4, "unknown fail");
+        UNKNOW_FAIL(4, "unknown fail"),
+        REJECTED_FAIL(5, "rejected fail"),
+        LIMITED_FAIL(6, "limited fail"),
+        PARTIAL_SUCCESS(7, "partial success");
 
         private final int code;
         private final String msg;
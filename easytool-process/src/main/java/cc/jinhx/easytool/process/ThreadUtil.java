@@ -2,7 +2,9 @@ package cc.jinhx.easytool.process;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -29,7 +31,34 @@ public class ThreadUtil {
                     10, TimeUnit.MINUTES,
                     new LinkedBlockingQueue<>(1024),
                     (Runnable r) -> new Thread(r, "asyncCommonChain_thread_" + COMMON_CHAIN_THREAD_POOL_COUNTER.incrementAndGet()),
-                    (r, executor) -> log.info("process async common chain has bean rejected" + r));
+                    (r, executor) -> {
+                        // 链路任务抛出异常，由链路立即按节点被拒绝处理，不再等到链路超时，其他任务保持丢弃并打印日志
+                        if (r instanceof ChainTask) {
+                            throw new RejectedExecutionException("process async common chain has bean rejected " + r);
+                        }
+                        log.info("process async common chain has bean rejected" + r);
+                    });
+
+    /**
+     * 虚拟线程链路线程池，每个任务一个虚拟线程，运行环境低于Java 21时为null
+     */
+    private static final ExecutorService VIRTUAL_CHAIN_THREAD_POOL = createVirtualThreadPool("asyncVirtualChain_thread_");
+
+    private static final AtomicInteger STREAM_CHAIN_THREAD_POOL_COUNTER = new AtomicInteger(0);
+
+    /**
+     * 流式节点线程池，流式节点阻塞在通道上时一直占用线程，不排队，避免上游占满线程后下游排队无法执行，线程数量达到上限时拒绝，
+     * 开启虚拟线程的链路改用虚拟线程链路线程池
+     */
+    private static final ExecutorService STREAM_CHAIN_THREAD_POOL =
+            new ThreadPoolExecutor(
+                    0, CPU_NUM * 16,
+                    1, TimeUnit.MINUTES,
+                    new SynchronousQueue<>(),
+                    (Runnable r) -> new Thread(r, "asyncStreamChain_thread_" + STREAM_CHAIN_THREAD_POOL_COUNTER.incrementAndGet()),
+                    (r, executor) -> {
+                        throw new RejectedExecutionException("process async stream chain has bean rejected " + r);
+                    });
 
     /**
      * 链路监控线程池
@@ -43,15 +72,66 @@ public class ThreadUtil {
             });
 
     /**
-     * 定时失败线程池
+     * 定时失败时间轮，刻度1毫秒
      */
-    private static final ScheduledExecutorService TIMING_FAIL_SCHEDULER =
-            new ScheduledThreadPoolExecutor(1, r -> {
-                Thread thread = new Thread(r);
-                thread.setName("asyncTimingFail_thread");
-                thread.setDaemon(true);
-                return thread;
-            });
+    private static final HashedWheelTimer TIMING_FAIL_TIMER = new HashedWheelTimer("asyncTimingFail_thread", 1, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * 超时提交到线程池完成时的最大等待时间，单位毫秒
+     */
+    private static final long EXECUTOR_TIMING_FAIL_MAX_WAIT_TIME = 100L;
+
+    /**
+     * 是否支持虚拟线程，运行环境为Java 21及以上
+     *
+     * @return 是否支持虚拟线程
+     */
+    public static boolean isSupportVirtualThread() {
+        return Objects.nonNull(VIRTUAL_CHAIN_THREAD_POOL);
+    }
+
+    /**
+     * 获取虚拟线程链路线程池，不支持虚拟线程时返回公共链路线程池
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService getVirtualChainThreadPool() {
+        return isSupportVirtualThread() ? VIRTUAL_CHAIN_THREAD_POOL : COMMON_CHAIN_THREAD_POOL;
+    }
+
+    /**
+     * 获取流式节点线程池
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService getStreamChainThreadPool() {
+        return STREAM_CHAIN_THREAD_POOL;
+    }
+
+    /**
+     * 反射创建虚拟线程线程池，编译基线为Java 8，不能直接引用Java 21的api
+     *
+     * @param threadNamePrefix threadNamePrefix
+     * @return ExecutorService，不支持时返回null
+     */
+    private static ExecutorService createVirtualThreadPool(String threadNamePrefix) {
+        String javaVersion = System.getProperty("java.specification.version", "1.8");
+        if (javaVersion.startsWith("1.") || Integer.parseInt(javaVersion.split("\\.")[0]) < 21) {
+            return null;
+        }
+
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (Exception e) {
+            log.info("process create virtual thread pool fail javaVersion={} error=", javaVersion, e);
+            return null;
+        }
+    }
 
     /**
      * 获取定时失败future
@@ -61,19 +141,90 @@ public class ThreadUtil {
      */
     public static <T> CompletableFuture<T> getTimingFailFuture(Duration duration) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        TIMING_FAIL_SCHEDULER.schedule(() -> future.completeExceptionally(new TimeoutException("timeout after " + duration.toMillis())), duration.toMillis(), TimeUnit.MILLISECONDS);
+        newTimingFail(future, duration);
         return future;
     }
 
     /**
-     * 判断是否在指定时间内完成
+     * 判断是否在指定时间内完成，future先完成时取消定时
      *
      * @param future   future
      * @param duration duration
      * @return CompletableFuture
      */
     public static <T> CompletableFuture<T> withinTime(CompletableFuture<T> future, Duration duration) {
-        return future.applyToEither(getTimingFailFuture(duration), Function.identity());
+        CompletableFuture<T> timingFailFuture = new CompletableFuture<>();
+        HashedWheelTimer.Timeout timeout = newTimingFail(timingFailFuture, duration);
+        future.whenComplete((result, throwable) -> timeout.cancel());
+        return future.applyToEither(timingFailFuture, Function.identity());
+    }
+
+    /**
+     * 判断是否在指定时间内完成，future先完成时取消定时，超时在指定线程池上完成，后续回调不占用时间轮线程，线程池拒绝或排队过久时在时间轮线程上完成
+     *
+     * @param future   future
+     * @param duration duration
+     * @param executor 超时完成使用的线程池
+     * @return CompletableFuture
+     */
+    public static <T> CompletableFuture<T> withinTime(CompletableFuture<T> future, Duration duration, Executor executor) {
+        CompletableFuture<T> timingFailFuture = new CompletableFuture<>();
+        long timeout = duration.toMillis();
+        ChainTask timingFail = () -> timingFailFuture.completeExceptionally(new TimeoutException("timeout after " + timeout));
+        HashedWheelTimer.Timeout timingFailTimeout = TIMING_FAIL_TIMER.newTimeout(() -> {
+            try {
+                executor.execute(timingFail);
+            } catch (RejectedExecutionException e) {
+                timingFail.run();
+                return;
+            }
+            // 拒绝策略丢弃任务时不会抛出异常，超过最大等待时间仍未完成则在时间轮线程上完成，保证超时一定完成
+            TIMING_FAIL_TIMER.newTimeout(timingFail, EXECUTOR_TIMING_FAIL_MAX_WAIT_TIME, TimeUnit.MILLISECONDS);
+        }, timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, throwable) -> timingFailTimeout.cancel());
+        return future.applyToEither(timingFailFuture, Function.identity());
+    }
+
+    /**
+     * 添加定时任务，任务在时间轮线程上执行，必须足够轻量，耗时操作应提交到线程池
+     *
+     * @param task  task
+     * @param delay delay
+     * @return HashedWheelTimer.Timeout
+     */
+    public static HashedWheelTimer.Timeout schedule(Runnable task, Duration delay) {
+        return TIMING_FAIL_TIMER.newTimeout(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 添加定时失败
+     *
+     * @param future   future
+     * @param duration duration
+     * @return HashedWheelTimer.Timeout
+     */
+    private static <T> HashedWheelTimer.Timeout newTimingFail(CompletableFuture<T> future, Duration duration) {
+        long timeout = duration.toMillis();
+        return TIMING_FAIL_TIMER.newTimeout(() -> future.completeExceptionally(new TimeoutException("timeout after " + timeout)), timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取定时失败时间轮中未到期的定时数量
+     *
+     * @return 定时数量
+     */
+    public static long getTimingFailPendingCount() {
+        return TIMING_FAIL_TIMER.getPendingCount();
+    }
+
+
+    /**
+     * 链路任务，公共链路线程池已满时只对链路任务抛出拒绝异常
+     * <p>
+     * 自定义线程池需要链路立即按被拒绝处理时，拒绝策略同样应对链路任务抛出RejectedExecutionException
+     */
+    public interface ChainTask extends Runnable {
+
     }
 
 }
\ No newline at end of file
@@ -7,9 +7,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 
@@ -25,34 +23,23 @@ import java.util.concurrent.TimeoutException;
 public class AbandonFailHandle extends AbstractFailHandle {
 
     @Override
-    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, Class<? extends AbstractNode> nodeClass,
-                                    ChainParam<T> chainParam, Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap,
-                                    Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> childNodeClassMap,
-                                    AbstractChain chain, Throwable throwable, String logPrefix) {
-        StringBuffer logStr = new StringBuffer(logPrefix);
+    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId,
+                                    ChainParam<T> chainParam, ChainPlan chainPlan, AbstractChain chain, Throwable throwable, String logPrefix) {
+        StringBuffer logStr = Objects.isNull(logPrefix) ? null : new StringBuffer(logPrefix);
         try {
-            ChainNode chainNode = chainNodeMap.get(nodeClass);
-            String nodeName = nodeClass.getSimpleName();
+            ChainNode chainNode = chainPlan.getChainNodes()[nodeId];
+            String nodeName = chainPlan.getNodeClasses()[nodeId].getSimpleName();
             long nodeTimeout = chainNode.getGetNodeTimeout().getAsLong();
             AbstractNode node = chainNode.getNode();
-            String exceptionLog = getExceptionLog((Exception) throwable);
             Throwable cause = throwable;
             if (Objects.nonNull(throwable.getCause())) {
                 cause = throwable.getCause();
             }
 
-            if (cause instanceof TimeoutException) {
-                logStr.append(" node [").append(nodeName).append("] execute timeout fail nodeTimeout=").append(nodeTimeout);
-            } else if (cause instanceof ProcessException) {
-                logStr.append(" node [").append(nodeName).append("] execute process fail");
-            } else if (cause instanceof BusinessException) {
-                logStr.append(" node [").append(nodeName).append("] execute business fail");
-            } else {
-                logStr.append(" node [").append(nodeName).append("] execute unknown fail");
+            if (Objects.nonNull(logStr)) {
+                logStr.append(getNodeFailLog(nodeName, cause, nodeTimeout)).append(" abandon node msg=").append(getExceptionLog((Exception) throwable)).append("\n");
             }
 
-            logStr.append(" abandon node msg=").append(exceptionLog).append("\n");
-
             if (cause instanceof TimeoutException) {
                 node.onTimeoutFail(chainContext);
             } else if (cause instanceof ProcessException) {
@@ -65,14 +52,15 @@ public class AbandonFailHandle extends AbstractFailHandle {
 
             node.afterExecute(chainContext);
         } catch (Exception e) {
-            logStr.append(" abandon node dealFailNode fail msg=").append(getExceptionLog(e));
+            if (Objects.nonNull(logStr)) {
+                logStr.append(" abandon node dealFailNode fail msg=").append(getExceptionLog(e));
+            }
         } finally {
-            chainParam.getNodeClassStatusMap().put(nodeClass, ChainParam.NodeStatusEnum.COMPLETED.getCode());
-            chainParam.getCompletedNodeCountDownLatch().countDown();
-
-            log.info(logStr.toString());
+            if (Objects.nonNull(logStr)) {
+                log.info(logStr.toString());
+            }
 
-            chain.startRunNode(chainContext, executorService, childNodeClassMap.get(nodeClass), chainParam);
+            chain.completeNode(chainContext, executorService, nodeId, chainParam);
         }
     }
 
@@ -3,18 +3,28 @@ package cc.jinhx.easytool.process.chain;
 import cc.jinhx.easytool.core.JsonUtil;
 import cc.jinhx.easytool.process.*;
 import cc.jinhx.easytool.process.monitor.Monitor;
+import cc.jinhx.easytool.process.node.AbstractBatchNode;
 import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.node.StreamChannel;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
@@ -34,34 +44,71 @@ public abstract class AbstractChain<T> {
      */
     private final static long DEFAULT_CHAIN_TIMEOUT = 200L;
 
+    /**
+     * 当前线程待内联执行的节点任务
+     */
+    private static final ThreadLocal<InlineNodeTasks> INLINE_NODE_TASKS = ThreadLocal.withInitial(InlineNodeTasks::new);
+
     /**
      * 首节点class集合
      */
+    @Setter(AccessLevel.NONE)
     private Set<Class<? extends AbstractNode>> firstNodeClassSet = new HashSet<>();
 
     /**
      * 父节点class map
      */
+    @Setter(AccessLevel.NONE)
     private Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> parentNodeClassMap = new HashMap<>();
 
     /**
      * 子节点class map
      */
+    @Setter(AccessLevel.NONE)
     private Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> childNodeClassMap = new HashMap<>();
 
     /**
-     * 链路节点集合
+     * 链路节点集合，以上节点信息只在构造时用于编译执行计划，不提供setter
      */
+    @Setter(AccessLevel.NONE)
     private Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap = new HashMap<>();
 
+    /**
+     * 链路执行计划
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ChainPlan chainPlan;
+
+    /**
+     * 节点平均执行耗时，单位纳秒，开启准入控制时记录，用于预计线程池排队等待时间
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile long avgNodeRunTime;
+
+    /**
+     * 自适应并发限制，未开启为null
+     */
+    @Getter(AccessLevel.NONE)
+    private final AdaptiveConcurrencyLimit adaptiveConcurrencyLimit;
+
 
     /**
-     * 初始化并校验链路完整性
+     * 初始化并校验链路完整性，最后编译链路执行计划
      */
     public AbstractChain() {
         setNodeInfo();
         initChain();
         checkChainComplete();
+        chainPlan = ChainPlan.create(chainNodeMap, parentNodeClassMap);
+        adaptiveConcurrencyLimit = getConcurrencyLimit();
+        if (openMonitor()) {
+            for (int i = 0; i < chainPlan.getNodeCount(); i++) {
+                Monitor.registerBulkhead(this.getClass(), chainPlan.getNodeClasses()[i], chainPlan.getNodeBulkheads()[i]);
+                Monitor.registerCircuitBreaker(this.getClass(), chainPlan.getNodeClasses()[i], chainPlan.getNodeCircuitBreakers()[i]);
+            }
+        }
     }
 
 
@@ -73,6 +120,10 @@ public abstract class AbstractChain<T> {
         addNode(nodeClass, ChainNode.FailHandleEnum.INTERRUPT, null, getNodeTimeout);
     }
 
+    protected void addInterruptNode(@NonNull Class<? extends AbstractNode> nodeClass, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.INTERRUPT, null, getNodeTimeout, null, bulkhead);
+    }
+
     protected void addAbandonNode(@NonNull Class<? extends AbstractNode> nodeClass) {
         addNode(nodeClass, ChainNode.FailHandleEnum.ABANDON, null, null);
     }
@@ -81,6 +132,10 @@ public abstract class AbstractChain<T> {
         addNode(nodeClass, ChainNode.FailHandleEnum.ABANDON, null, getNodeTimeout);
     }
 
+    protected void addAbandonNode(@NonNull Class<? extends AbstractNode> nodeClass, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.ABANDON, null, getNodeTimeout, null, bulkhead);
+    }
+
     protected void addRetryNode(@NonNull Class<? extends AbstractNode> nodeClass, ChainNode.RetryTimesEnum retryTimes) {
         addNode(nodeClass, ChainNode.FailHandleEnum.RETRY, retryTimes, null);
     }
@@ -89,6 +144,22 @@ public abstract class AbstractChain<T> {
         addNode(nodeClass, ChainNode.FailHandleEnum.RETRY, retryTimes, getNodeTimeout);
     }
 
+    protected void addRetryNode(@NonNull Class<? extends AbstractNode> nodeClass, ChainNode.RetryTimesEnum retryTimes, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.RETRY, retryTimes, getNodeTimeout, null, bulkhead);
+    }
+
+    protected void addHedgeNode(@NonNull Class<? extends AbstractNode> nodeClass, @NonNull LongSupplier getHedgeDelay) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.HEDGE, null, null, getHedgeDelay);
+    }
+
+    protected void addHedgeNode(@NonNull Class<? extends AbstractNode> nodeClass, @NonNull LongSupplier getHedgeDelay, LongSupplier getNodeTimeout) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.HEDGE, null, getNodeTimeout, getHedgeDelay);
+    }
+
+    protected void addHedgeNode(@NonNull Class<? extends AbstractNode> nodeClass, @NonNull LongSupplier getHedgeDelay, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNode(nodeClass, ChainNode.FailHandleEnum.HEDGE, null, getNodeTimeout, getHedgeDelay, bulkhead);
+    }
+
     protected void addInterruptNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses) {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.INTERRUPT, null, null);
     }
@@ -97,6 +168,10 @@ public abstract class AbstractChain<T> {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.INTERRUPT, null, getNodeTimeout);
     }
 
+    protected void addInterruptNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.INTERRUPT, null, getNodeTimeout, null, bulkhead);
+    }
+
     protected void addAbandonNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses) {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.ABANDON, null, null);
     }
@@ -105,6 +180,10 @@ public abstract class AbstractChain<T> {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.ABANDON, null, getNodeTimeout);
     }
 
+    protected void addAbandonNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, LongSupplier getNodeTimeout, @NonNull NodeBulkhead bulkhead) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.ABANDON, null, getNodeTimeout, null, bulkhead);
+    }
+
     protected void addRetryNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, ChainNode.RetryTimesEnum retryTimes) {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.RETRY, retryTimes, null);
     }
@@ -113,6 +192,54 @@ public abstract class AbstractChain<T> {
         addNodes(nodeClasses, ChainNode.FailHandleEnum.RETRY, retryTimes, getNodeTimeout);
     }
 
+    protected void addRetryNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, ChainNode.RetryTimesEnum retryTimes, LongSupplier getNodeTimeout,
+                                 @NonNull NodeBulkhead bulkhead) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.RETRY, retryTimes, getNodeTimeout, null, bulkhead);
+    }
+
+    protected void addHedgeNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, @NonNull LongSupplier getHedgeDelay) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.HEDGE, null, null, getHedgeDelay);
+    }
+
+    protected void addHedgeNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, @NonNull LongSupplier getHedgeDelay, LongSupplier getNodeTimeout) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.HEDGE, null, getNodeTimeout, getHedgeDelay);
+    }
+
+    protected void addHedgeNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, @NonNull LongSupplier getHedgeDelay, LongSupplier getNodeTimeout,
+                                 @NonNull NodeBulkhead bulkhead) {
+        addNodes(nodeClasses, ChainNode.FailHandleEnum.HEDGE, null, getNodeTimeout, getHedgeDelay, bulkhead);
+    }
+
+    /**
+     * 为已添加的节点设置熔断器，每个节点复制一份独立统计
+     *
+     * @param nodeClass      nodeClass
+     * @param circuitBreaker circuitBreaker
+     */
+    protected void addCircuitBreaker(@NonNull Class<? extends AbstractNode> nodeClass, @NonNull NodeCircuitBreaker circuitBreaker) {
+        ChainNode chainNode = chainNodeMap.get(nodeClass);
+        if (Objects.isNull(chainNode)) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_UNREGISTERED.getMsg() + "=" + nodeClass.getSimpleName());
+        }
+
+        chainNode.setCircuitBreaker(circuitBreaker.copy(this.getClass().getSimpleName() + "." + nodeClass.getSimpleName()));
+    }
+
+    /**
+     * 为已添加的重试节点设置重试策略，每个节点复制一份独立预算
+     *
+     * @param nodeClass   nodeClass
+     * @param retryPolicy retryPolicy
+     */
+    protected void addRetryPolicy(@NonNull Class<? extends AbstractNode> nodeClass, @NonNull RetryPolicy retryPolicy) {
+        ChainNode chainNode = chainNodeMap.get(nodeClass);
+        if (Objects.isNull(chainNode)) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_UNREGISTERED.getMsg() + "=" + nodeClass.getSimpleName());
+        }
+
+        chainNode.setRetryPolicy(retryPolicy.copy());
+    }
+
     /**
      * 添加节点
      *
@@ -122,12 +249,41 @@ public abstract class AbstractChain<T> {
      * @param retryTimes     retryTimes
      */
     private void addNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes, LongSupplier getNodeTimeout) {
+        addNodes(nodeClasses, failHandle, retryTimes, getNodeTimeout, null);
+    }
+
+    /**
+     * 添加节点
+     *
+     * @param nodeClasses    nodeClasses
+     * @param failHandle     failHandle
+     * @param retryTimes     retryTimes
+     * @param getNodeTimeout getNodeTimeout
+     * @param getHedgeDelay  getHedgeDelay
+     */
+    private void addNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes,
+                          LongSupplier getNodeTimeout, LongSupplier getHedgeDelay) {
+        addNodes(nodeClasses, failHandle, retryTimes, getNodeTimeout, getHedgeDelay, null);
+    }
+
+    /**
+     * 添加节点，同一个舱壁由所有节点共用
+     *
+     * @param nodeClasses    nodeClasses
+     * @param failHandle     failHandle
+     * @param retryTimes     retryTimes
+     * @param getNodeTimeout getNodeTimeout
+     * @param getHedgeDelay  getHedgeDelay
+     * @param bulkhead       bulkhead
+     */
+    private void addNodes(@NonNull Collection<Class<? extends AbstractNode>> nodeClasses, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes,
+                          LongSupplier getNodeTimeout, LongSupplier getHedgeDelay, NodeBulkhead bulkhead) {
         if (CollectionUtils.isEmpty(nodeClasses)) {
             throw new ProcessException(ProcessException.MsgEnum.NODE_EMPTY.getMsg() + "=" + this.getClass().getSimpleName());
         }
 
         for (Class<? extends AbstractNode> nodeClass : nodeClasses) {
-            addNode(nodeClass, failHandle, retryTimes, getNodeTimeout);
+            addNode(nodeClass, failHandle, retryTimes, getNodeTimeout, getHedgeDelay, bulkhead);
         }
     }
 
@@ -140,6 +296,35 @@ public abstract class AbstractChain<T> {
      * @param retryTimes     retryTimes
      */
     private void addNode(Class<? extends AbstractNode> nodeClass, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes, LongSupplier getNodeTimeout) {
+        addNode(nodeClass, failHandle, retryTimes, getNodeTimeout, null);
+    }
+
+    /**
+     * 添加节点
+     *
+     * @param nodeClass      nodeClass
+     * @param failHandle     failHandle
+     * @param retryTimes     retryTimes
+     * @param getNodeTimeout getNodeTimeout
+     * @param getHedgeDelay  getHedgeDelay
+     */
+    private void addNode(Class<? extends AbstractNode> nodeClass, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes,
+                         LongSupplier getNodeTimeout, LongSupplier getHedgeDelay) {
+        addNode(nodeClass, failHandle, retryTimes, getNodeTimeout, getHedgeDelay, null);
+    }
+
+    /**
+     * 添加节点
+     *
+     * @param nodeClass      nodeClass
+     * @param failHandle     failHandle
+     * @param retryTimes     retryTimes
+     * @param getNodeTimeout getNodeTimeout
+     * @param getHedgeDelay  getHedgeDelay
+     * @param bulkhead       bulkhead
+     */
+    private void addNode(Class<? extends AbstractNode> nodeClass, ChainNode.FailHandleEnum failHandle, ChainNode.RetryTimesEnum retryTimes,
+                         LongSupplier getNodeTimeout, LongSupplier getHedgeDelay, NodeBulkhead bulkhead) {
         if (Objects.isNull(nodeClass)) {
             throw new ProcessException(ProcessException.MsgEnum.NODE_EMPTY.getMsg() + "=" + this.getClass().getSimpleName());
         }
@@ -148,7 +333,7 @@ public abstract class AbstractChain<T> {
             throw new ProcessException(ProcessException.MsgEnum.NODE_REPEAT.getMsg() + "=" + nodeClass.getSimpleName());
         }
 
-        chainNodeMap.put(nodeClass, ChainNode.create(null, failHandle, getNodeTimeout, retryTimes));
+        chainNodeMap.put(nodeClass, ChainNode.create(null, failHandle, getNodeTimeout, retryTimes, getHedgeDelay, bulkhead));
     }
 
 
@@ -166,6 +351,49 @@ public abstract class AbstractChain<T> {
         return false;
     }
 
+    /**
+     * 获取日志策略，默认打印全部日志
+     */
+    protected ChainLogPolicy getLogPolicy() {
+        return ChainLogPolicy.all();
+    }
+
+    /**
+     * 是否开启内联执行，节点完成后只有一个子节点可以启动时，直接在当前线程上执行，省去一次线程池调度
+     */
+    protected boolean openInlineExecute() {
+        return false;
+    }
+
+    /**
+     * 是否使用虚拟线程执行节点和流式节点的并行处理，适用于节点以阻塞io为主的链路，运行环境低于Java 21时不生效
+     */
+    protected boolean openVirtualThread() {
+        return false;
+    }
+
+    /**
+     * 是否开启准入控制，按线程池排队任务数和节点平均执行耗时预计排队等待时间，已超过链路超时时间时直接拒绝本次执行，只对ThreadPoolExecutor生效
+     */
+    protected boolean openAdmissionControl() {
+        return false;
+    }
+
+    /**
+     * 是否开启部分结果，链路超时时未完成的节点都是抛弃节点，则不按超时失败处理，返回部分成功结果，
+     * 可通过上下文的节点时间线判断哪些节点已成功完成，部分成功只执行执行后回调
+     */
+    protected boolean openPartialResult() {
+        return false;
+    }
+
+    /**
+     * 获取自适应并发限制，只在链路初始化时调用一次，默认不限制
+     */
+    protected AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return null;
+    }
+
     /**
      * 校验参数
      *
@@ -227,21 +455,83 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doCheckParams(ChainContext<T> chainContext) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             checkParams(chainContext);
-            logStr.append(" checkParams success");
             return null;
         } catch (BusinessException e) {
             onBusinessFail(chainContext, e);
-            logStr.append(" checkParams business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
             onUnknowFail(chainContext, e);
-            logStr.append(" checkParams unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.CHECK_PARAMS.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "checkParams", hookException);
+        }
+    }
+
+    /**
+     * 准入控制，预计线程池排队等待时间已超过链路超时时间则拒绝，链路不可能在超时时间内完成，提交节点只会加重排队
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @return ProcessResult，允许执行返回null
+     */
+    private ProcessResult<T> doAdmissionControl(ChainContext<T> chainContext, ExecutorService executorService) {
+        if (!openAdmissionControl() || !(executorService instanceof ThreadPoolExecutor)) {
+            return null;
+        }
+
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executorService;
+        int queueSize = threadPoolExecutor.getQueue().size();
+        if (queueSize == 0) {
+            return null;
+        }
+
+        // 排队任务由当前所有线程并行消费
+        long estimateQueueWaitTime = queueSize * avgNodeRunTime / Math.max(1, threadPoolExecutor.getPoolSize());
+        long chainTimeout = getChainTimeout();
+        if (estimateQueueWaitTime < TimeUnit.MILLISECONDS.toNanos(chainTimeout)) {
+            return null;
+        }
+
+        String msg = ProcessException.MsgEnum.CHAIN_REJECTED.getMsg() + " queueSize=" + queueSize + " estimateQueueWaitTime="
+                + TimeUnit.NANOSECONDS.toMillis(estimateQueueWaitTime) + " chainTimeout=" + chainTimeout;
+        if (chainContext.isLogEnabled()) {
+            log.info(getLogPrefix(chainContext) + " execute rejected fail msg=" + msg);
+        }
+        return buildFailResult(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), msg);
+    }
+
+    /**
+     * 获取并发许可，超过自适应并发限制则拒绝
+     *
+     * @param chainContext chainContext
+     * @return ProcessResult，获取成功返回null
+     */
+    private ProcessResult<T> doAcquireConcurrency(ChainContext<T> chainContext) {
+        if (Objects.isNull(adaptiveConcurrencyLimit) || adaptiveConcurrencyLimit.tryAcquire()) {
+            return null;
+        }
+
+        String msg = ProcessException.MsgEnum.CHAIN_LIMITED.getMsg() + " limit=" + adaptiveConcurrencyLimit.getLimit();
+        if (chainContext.isLogEnabled()) {
+            log.info(getLogPrefix(chainContext) + " execute limited fail msg=" + msg);
+        }
+        return buildFailResult(ProcessResult.BaseEnum.LIMITED_FAIL.getCode(), msg);
+    }
+
+    /**
+     * 释放并发许可，记录节点执行耗时用于调整限制，不包含回调耗时
+     *
+     * @param chainParam chainParam
+     * @param startTime  链路开始时间，System.nanoTime
+     */
+    private void releaseConcurrency(ChainParam<T> chainParam, long startTime) {
+        if (Objects.nonNull(adaptiveConcurrencyLimit)) {
+            adaptiveConcurrencyLimit.release(System.nanoTime() - startTime, chainParam.isTimeoutFail());
         }
     }
 
@@ -252,19 +542,18 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doOnSuccess(ChainContext<T> chainContext) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             onSuccess(chainContext);
-            logStr.append(" onSuccess success");
             return null;
         } catch (BusinessException e) {
-            logStr.append(" onSuccess business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
-            logStr.append(" onSuccess unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.ON_SUCCESS.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "onSuccess", hookException);
         }
     }
 
@@ -275,19 +564,18 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doAfterExecute(ChainContext<T> chainContext) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             afterExecute(chainContext);
-            logStr.append(" afterExecute success");
             return null;
         } catch (BusinessException e) {
-            logStr.append(" afterExecute business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
-            logStr.append(" afterExecute unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.AFTER_EXECUTE.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "afterExecute", hookException);
         }
     }
 
@@ -298,19 +586,18 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doOnTimeoutFail(ChainContext<T> chainContext) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             onTimeoutFail(chainContext);
-            logStr.append(" onTimeoutFail success");
             return null;
         } catch (BusinessException e) {
-            logStr.append(" onTimeoutFail business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
-            logStr.append(" onTimeoutFail unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.ON_TIMEOUT_FAIL.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "onTimeoutFail", hookException);
         }
     }
 
@@ -322,19 +609,18 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doOnBusinessFail(ChainContext<T> chainContext, BusinessException businessException) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             onBusinessFail(chainContext, businessException);
-            logStr.append(" onBusinessFail success");
             return null;
         } catch (BusinessException e) {
-            logStr.append(" onBusinessFail business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
-            logStr.append(" onBusinessFail unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.ON_BUSINESS_FAIL.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "onBusinessFail", hookException);
         }
     }
 
@@ -346,19 +632,18 @@ public abstract class AbstractChain<T> {
      * @return ProcessResult
      */
     private ProcessResult<T> doOnUnknowFail(ChainContext<T> chainContext, Exception exception) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
+        Exception hookException = null;
         try {
             onUnknowFail(chainContext, exception);
-            logStr.append(" onUnknowFail success");
             return null;
         } catch (BusinessException e) {
-            logStr.append(" onUnknowFail business fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(e.getCode(), e.getMsg());
         } catch (Exception e) {
-            logStr.append(" onUnknowFail unknown fail msg=").append(getExceptionLog(e));
+            hookException = e;
             return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.ON_UNKNOW_FAIL.getMsg() + " error=" + getExceptionLog(e));
         } finally {
-            log.info(logStr.toString());
+            logHook(chainContext, "onUnknowFail", hookException);
         }
     }
 
@@ -377,13 +662,7 @@ public abstract class AbstractChain<T> {
      * @param chainContext chainContext
      */
     public <R> ProcessResult<R> execute(@NonNull ChainContext<T> chainContext, Function<T, R> getResultData) {
-        ProcessResult processResult = execute(chainContext);
-        if (processResult.isSuccess()) {
-            processResult.setData(getResultData.apply((T) processResult.getData()));
-            return processResult;
-        }
-
-        return processResult;
+        return convertResultData(execute(chainContext), getResultData);
     }
 
     /**
@@ -402,7 +681,160 @@ public abstract class AbstractChain<T> {
      * @param chainContext chainContext
      */
     public <R> ProcessResult<R> execute(@NonNull ChainContext<T> chainContext, Function<T, R> getResultData, @NonNull ExecutorService executorService) {
-        ProcessResult processResult = execute(chainContext, executorService);
+        return convertResultData(execute(chainContext, executorService), getResultData);
+    }
+
+    /**
+     * 异步执行当前链路，使用默认配置的线程池，不阻塞调用线程
+     *
+     * @param chainContext chainContext
+     */
+    public CompletableFuture<ProcessResult<T>> executeAsync(@NonNull ChainContext<T> chainContext) {
+        return doExecuteAsync(chainContext, getThreadPool(), null);
+    }
+
+    /**
+     * 异步执行当前链路，使用默认配置的线程池，不阻塞调用线程
+     *
+     * @param chainContext chainContext
+     */
+    public <R> CompletableFuture<ProcessResult<R>> executeAsync(@NonNull ChainContext<T> chainContext, Function<T, R> getResultData) {
+        return executeAsync(chainContext).thenApply(processResult -> convertResultData(processResult, getResultData));
+    }
+
+    /**
+     * 异步执行当前链路，指定线程池，不阻塞调用线程
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     */
+    public CompletableFuture<ProcessResult<T>> executeAsync(@NonNull ChainContext<T> chainContext, @NonNull ExecutorService executorService) {
+        return doExecuteAsync(chainContext, executorService, null);
+    }
+
+    /**
+     * 异步执行当前链路，指定线程池，不阻塞调用线程
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     */
+    public <R> CompletableFuture<ProcessResult<R>> executeAsync(@NonNull ChainContext<T> chainContext, Function<T, R> getResultData, @NonNull ExecutorService executorService) {
+        return executeAsync(chainContext, executorService).thenApply(processResult -> convertResultData(processResult, getResultData));
+    }
+
+    /**
+     * 批量执行当前链路，使用默认配置的线程池，阻塞到全部完成
+     *
+     * @param chainContexts chainContexts
+     * @param parallelism   同时执行的上下文数量上限
+     * @return 按输入顺序的结果
+     */
+    public List<ProcessResult<T>> executeAll(@NonNull List<ChainContext<T>> chainContexts, int parallelism) {
+        return executeAllAsync(chainContexts, parallelism, getThreadPool()).join();
+    }
+
+    /**
+     * 批量执行当前链路，指定线程池，阻塞到全部完成
+     *
+     * @param chainContexts   chainContexts
+     * @param parallelism     同时执行的上下文数量上限
+     * @param executorService executorService
+     * @return 按输入顺序的结果
+     */
+    public List<ProcessResult<T>> executeAll(@NonNull List<ChainContext<T>> chainContexts, int parallelism, @NonNull ExecutorService executorService) {
+        return executeAllAsync(chainContexts, parallelism, executorService).join();
+    }
+
+    /**
+     * 异步批量执行当前链路，使用默认配置的线程池，不阻塞调用线程
+     *
+     * @param chainContexts chainContexts
+     * @param parallelism   同时执行的上下文数量上限
+     * @return 全部完成时按输入顺序的结果
+     */
+    public CompletableFuture<List<ProcessResult<T>>> executeAllAsync(@NonNull List<ChainContext<T>> chainContexts, int parallelism) {
+        return executeAllAsync(chainContexts, parallelism, getThreadPool());
+    }
+
+    /**
+     * 异步批量执行当前链路，指定线程池，不阻塞调用线程
+     * <p>
+     * 每个上下文按单个执行的规则执行，各自计算链路超时，一个完成后开始下一个。
+     * 同时到达批量节点的上下文合并为一次执行，见{@link AbstractBatchNode}
+     *
+     * @param chainContexts   chainContexts
+     * @param parallelism     同时执行的上下文数量上限
+     * @param executorService executorService
+     * @return 全部完成时按输入顺序的结果
+     */
+    public CompletableFuture<List<ProcessResult<T>>> executeAllAsync(@NonNull List<ChainContext<T>> chainContexts, int parallelism, @NonNull ExecutorService executorService) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than 0");
+        }
+
+        ChainBatch<T> chainBatch = new ChainBatch<>(chainPlan, chainContexts.size(), (nodeId, tasks) -> submitBatchNodeTask(nodeId, tasks, executorService));
+        for (int i = 0; i < Math.min(parallelism, chainContexts.size()); i++) {
+            startBatchContext(chainContexts, executorService, chainBatch);
+        }
+        return chainBatch.getCompletedFuture();
+    }
+
+    /**
+     * 开始执行下一个上下文，完成后继续开始下一个，同步完成的在当前线程上循环执行，不递归
+     *
+     * @param chainContexts   chainContexts
+     * @param executorService executorService
+     * @param chainBatch      chainBatch
+     */
+    private void startBatchContext(List<ChainContext<T>> chainContexts, ExecutorService executorService, ChainBatch<T> chainBatch) {
+        int index;
+        while ((index = chainBatch.nextIndex()) >= 0) {
+            CompletableFuture<ProcessResult<T>> future;
+            try {
+                future = doExecuteAsync(chainContexts.get(index), executorService, chainBatch);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+
+            if (!future.isDone()) {
+                int currentIndex = index;
+                future.whenComplete((processResult, throwable) -> {
+                    chainBatch.complete(currentIndex, Objects.isNull(throwable) ? processResult : buildBatchFailResult(throwable));
+                    startBatchContext(chainContexts, executorService, chainBatch);
+                });
+                return;
+            }
+
+            ProcessResult<T> processResult;
+            try {
+                processResult = future.join();
+            } catch (RuntimeException e) {
+                processResult = buildBatchFailResult(e);
+            }
+            chainBatch.complete(index, processResult);
+        }
+    }
+
+    /**
+     * 批量执行中单个上下文执行异常，构建未知失败结果
+     *
+     * @param throwable throwable
+     * @return ProcessResult
+     */
+    private ProcessResult<T> buildBatchFailResult(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && Objects.nonNull(throwable.getCause()) ? throwable.getCause() : throwable;
+        return buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.CHAIN_UNKNOWN.getMsg() + " error=" + cause);
+    }
+
+    /**
+     * 转换结果数据，失败时原样返回
+     *
+     * @param processResult processResult
+     * @param getResultData getResultData
+     * @return ProcessResult
+     */
+    private <R> ProcessResult<R> convertResultData(ProcessResult processResult, Function<T, R> getResultData) {
         if (processResult.isSuccess()) {
             processResult.setData(getResultData.apply((T) processResult.getData()));
             return processResult;
@@ -418,84 +850,318 @@ public abstract class AbstractChain<T> {
      * @param executorService executorService
      */
     private ProcessResult<T> doExecute(ChainContext<T> chainContext, ExecutorService executorService) {
-        StringBuffer logStr = new StringBuffer(getLogPrefix(chainContext));
-        log.info(logStr + " start chainContext=" + JsonUtil.objectConvertToJson(chainContext));
+        long startTime = System.nanoTime();
+        ChainLogPolicy logPolicy = startLog(chainContext);
 
         // 校验参数
         ProcessResult<T> checkParamsResult = doCheckParams(chainContext);
         if (Objects.nonNull(checkParamsResult)) {
+            logPolicySummary(chainContext, logPolicy, checkParamsResult, startTime);
             return checkParamsResult;
         }
 
-        // 获取初始化链路参数
-        ChainParam<T> chainParam = getInitChainParam();
+        // 准入控制
+        ProcessResult<T> admissionControlResult = doAdmissionControl(chainContext, executorService);
+        if (Objects.nonNull(admissionControlResult)) {
+            logPolicySummary(chainContext, logPolicy, admissionControlResult, startTime);
+            return admissionControlResult;
+        }
+
+        // 自适应并发限制
+        ProcessResult<T> concurrencyLimitResult = doAcquireConcurrency(chainContext);
+        if (Objects.nonNull(concurrencyLimitResult)) {
+            logPolicySummary(chainContext, logPolicy, concurrencyLimitResult, startTime);
+            return concurrencyLimitResult;
+        }
 
-        startRunNode(chainContext, executorService, firstNodeClassSet, chainParam);
+        // 获取初始化链路参数
+        ChainParam<T> chainParam = getInitChainParam(chainContext, executorService, startTime);
 
         // 等待执行完成
-        String logPrefix = getLogPrefix(chainContext);
         try {
+            startRunNode(chainContext, executorService, chainPlan.getFirstNodeIds(), chainParam);
+
             long chainTimeout = getChainTimeout();
             boolean awaitResult = chainParam.getCompletedNodeCountDownLatch().await(chainTimeout, TimeUnit.MILLISECONDS);
             if (!awaitResult) {
-                log.info(logPrefix + " execute timeout fail chainTimeout=" + chainTimeout);
-
-                // 中断链路
-                chainParam.getNodeClassStatusMap().putAll(chainNodeMap.entrySet().stream().collect(Collectors.toConcurrentMap(Map.Entry::getKey, v -> ChainParam.NodeStatusEnum.COMPLETED.getCode(), (v1, v2) -> v2)));
-                while (chainParam.getCompletedNodeCountDownLatch().getCount() > 0) {
-                    chainParam.getCompletedNodeCountDownLatch().countDown();
-                }
-
-                chainParam.setTimeoutFail(true);
-                chainParam.setProcessResult(buildFailResult(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), ProcessException.MsgEnum.CHAIN_TIMEOUT.getMsg() + " chainTimeout=" + chainTimeout));
-            } else {
-                log.info(logPrefix + " execute success");
+                dealChainTimeout(chainContext, executorService, chainParam, chainTimeout);
+            } else if (chainContext.isLogEnabled()) {
+                log.info(getLogPrefix(chainContext) + " execute success");
             }
         } catch (InterruptedException e) {
-            log.info(logPrefix + " execute await unknown fail msg=" + getExceptionLog(e));
+            if (chainContext.isLogEnabled()) {
+                log.info(getLogPrefix(chainContext) + " execute await unknown fail msg=" + getExceptionLog(e));
+            }
 
             chainParam.setProcessResult(buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.CHAIN_UNKNOWN.getMsg() + " error=" + getExceptionLog(e)));
+        } finally {
+            releaseConcurrency(chainParam, startTime);
         }
 
-        ProcessResult<T> failResult;
-        // 不为空则失败
-        if (Objects.nonNull(chainParam.getProcessResult())) {
-            if (chainParam.isTimeoutFail()) {
-                failResult = doOnTimeoutFail(chainContext);
-            } else if (chainParam.isBusinessFail()) {
-                failResult = doOnBusinessFail(chainContext, (BusinessException) chainParam.getFailException());
-            } else {
+        ProcessResult<T> processResult = buildProcessResult(chainContext, chainParam);
+        addChainMonitor(startTime);
+        logPolicySummary(chainContext, logPolicy, processResult, startTime);
+        return processResult;
+    }
+
+    /**
+     * 异步执行节点，链路完成、失败或超时后在完成的线程上执行后续回调
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param chainBatch      批量执行状态，不是批量执行时为null
+     */
+    private CompletableFuture<ProcessResult<T>> doExecuteAsync(ChainContext<T> chainContext, ExecutorService executorService, ChainBatch<T> chainBatch) {
+        long startTime = System.nanoTime();
+        ChainLogPolicy logPolicy = startLog(chainContext);
+
+        // 校验参数
+        ProcessResult<T> checkParamsResult = doCheckParams(chainContext);
+        if (Objects.nonNull(checkParamsResult)) {
+            logPolicySummary(chainContext, logPolicy, checkParamsResult, startTime);
+            return CompletableFuture.completedFuture(checkParamsResult);
+        }
+
+        // 准入控制
+        ProcessResult<T> admissionControlResult = doAdmissionControl(chainContext, executorService);
+        if (Objects.nonNull(admissionControlResult)) {
+            logPolicySummary(chainContext, logPolicy, admissionControlResult, startTime);
+            return CompletableFuture.completedFuture(admissionControlResult);
+        }
+
+        // 自适应并发限制
+        ProcessResult<T> concurrencyLimitResult = doAcquireConcurrency(chainContext);
+        if (Objects.nonNull(concurrencyLimitResult)) {
+            logPolicySummary(chainContext, logPolicy, concurrencyLimitResult, startTime);
+            return CompletableFuture.completedFuture(concurrencyLimitResult);
+        }
+
+        // 获取初始化链路参数
+        ChainParam<T> chainParam = getInitChainParam(chainContext, executorService, startTime);
+        if (Objects.nonNull(chainBatch)) {
+            chainParam.setChainBatch(chainBatch);
+            chainBatch.start(chainParam);
+        }
+
+        try {
+            startRunNode(chainContext, executorService, chainPlan.getFirstNodeIds(), chainParam);
+        } catch (RuntimeException e) {
+            releaseConcurrency(chainParam, startTime);
+            if (Objects.nonNull(chainBatch)) {
+                chainBatch.end(chainParam);
+            }
+            throw e;
+        }
+
+        // 执行完成后回调，超时回调会中断链路、执行失败回调和打印日志，在链路线程池上执行，不占用时间轮线程
+        long chainTimeout = getChainTimeout();
+        return ThreadUtil.withinTime(chainParam.getCompletedFuture(), Duration.ofMillis(chainTimeout), executorService).handle((v, throwable) -> {
+            if (Objects.nonNull(throwable)) {
+                dealChainTimeout(chainContext, executorService, chainParam, chainTimeout);
+            } else if (chainContext.isLogEnabled()) {
+                log.info(getLogPrefix(chainContext) + " execute success");
+            }
+            releaseConcurrency(chainParam, startTime);
+            // 不会再到达的批量节点不再等待该上下文
+            if (Objects.nonNull(chainBatch)) {
+                chainBatch.end(chainParam);
+            }
+
+            ProcessResult<T> processResult = buildProcessResult(chainContext, chainParam);
+            addChainMonitor(startTime);
+            logPolicySummary(chainContext, logPolicy, processResult, startTime);
+            return processResult;
+        });
+    }
+
+    /**
+     * 记录链路耗时，单位纳秒，参数校验失败的不记录
+     *
+     * @param startTime 链路开始时间，System.nanoTime
+     */
+    private void addChainMonitor(long startTime) {
+        if (openMonitor()) {
+            Monitor.addChainCount(this.getClass(), System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * 按日志策略决定本次执行是否打印全部日志，打印则输出开始日志
+     *
+     * @param chainContext chainContext
+     * @return ChainLogPolicy
+     */
+    private ChainLogPolicy startLog(ChainContext<T> chainContext) {
+        ChainLogPolicy logPolicy = getLogPolicy();
+        chainContext.setLogEnabled(log.isInfoEnabled() && logPolicy.isLogAll());
+        if (chainContext.isLogEnabled()) {
+            log.info(getLogPrefix(chainContext) + " start chainContext=" + JsonUtil.objectConvertToJson(chainContext));
+        }
+        return logPolicy;
+    }
+
+    /**
+     * 未打印全部日志的执行，结束时满足日志策略则打印一条汇总日志
+     *
+     * @param chainContext  chainContext
+     * @param logPolicy     logPolicy
+     * @param processResult processResult
+     * @param startTime     链路开始时间，System.nanoTime
+     */
+    private void logPolicySummary(ChainContext<T> chainContext, ChainLogPolicy logPolicy, ProcessResult<?> processResult, long startTime) {
+        if (chainContext.isLogEnabled() || !log.isInfoEnabled()) {
+            return;
+        }
+
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (logPolicy.isLogEnd(processResult.isSuccess(), time)) {
+            log.info(getLogPrefix(chainContext) + " end time=" + time + " chainContext=" + JsonUtil.objectConvertToJson(chainContext)
+                    + " processResult=" + JsonUtil.objectConvertToJson(processResult));
+        }
+    }
+
+    /**
+     * 打印回调日志
+     *
+     * @param chainContext chainContext
+     * @param hookName     hookName
+     * @param exception    回调抛出的异常，成功为null
+     */
+    private void logHook(ChainContext<T> chainContext, String hookName, Exception exception) {
+        if (!chainContext.isLogEnabled()) {
+            return;
+        }
+
+        StringBuilder logStr = new StringBuilder(getLogPrefix(chainContext)).append(" ").append(hookName);
+        if (Objects.isNull(exception)) {
+            logStr.append(" success");
+        } else if (exception instanceof BusinessException) {
+            logStr.append(" business fail msg=").append(getExceptionLog(exception));
+        } else {
+            logStr.append(" unknown fail msg=").append(getExceptionLog(exception));
+        }
+        log.info(logStr.toString());
+    }
+
+    /**
+     * 打印全部日志的执行，结束时打印链路结果日志
+     *
+     * @param chainContext  chainContext
+     * @param processResult processResult
+     */
+    private void logEndResult(ChainContext<T> chainContext, ProcessResult<T> processResult) {
+        if (chainContext.isLogEnabled()) {
+            log.info(getLogPrefix(chainContext) + " end processResult=" + JsonUtil.objectConvertToJson(processResult));
+        }
+    }
+
+    /**
+     * 处理链路超时
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param chainParam      chainParam
+     * @param chainTimeout    chainTimeout
+     */
+    private void dealChainTimeout(ChainContext<T> chainContext, ExecutorService executorService, ChainParam<T> chainParam, long chainTimeout) {
+        if (chainContext.isLogEnabled()) {
+            log.info(getLogPrefix(chainContext) + " execute timeout fail chainTimeout=" + chainTimeout);
+        }
+
+        // 先冻结节点时间线，中断后仍在执行的节点完成时不再计入
+        chainParam.getNodeTimeline().freeze();
+
+        // 中断链路
+        chainParam.interrupt(chainContext, executorService);
+
+        if (openPartialResult() && isOnlyOptionalNodeIncomplete(chainParam)) {
+            if (chainContext.isLogEnabled()) {
+                log.info(getLogPrefix(chainContext) + " execute timeout partial success completedNodes=" + chainParam.getNodeTimeline().getCompletedNodes().stream()
+                        .map(Class::getSimpleName).collect(Collectors.toList()));
+            }
+
+            chainParam.setPartialSuccess(true);
+            return;
+        }
+
+        chainParam.setTimeoutFail(true);
+        chainParam.setProcessResult(buildFailResult(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), ProcessException.MsgEnum.CHAIN_TIMEOUT.getMsg() + " chainTimeout=" + chainTimeout));
+    }
+
+    /**
+     * 未成功完成的节点是否都是抛弃节点
+     *
+     * @param chainParam chainParam
+     * @return 是否都是抛弃节点
+     */
+    private boolean isOnlyOptionalNodeIncomplete(ChainParam<T> chainParam) {
+        NodeTimeline nodeTimeline = chainParam.getNodeTimeline();
+        for (int i = 0; i < chainPlan.getNodeCount(); i++) {
+            if (!nodeTimeline.isNodeCompleted(i) && ChainNode.FailHandleEnum.ABANDON != chainPlan.getChainNodes()[i].getFailHandle()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 构建链路结果，执行链路的成功、失败和执行后回调
+     *
+     * @param chainContext chainContext
+     * @param chainParam   chainParam
+     * @return ProcessResult
+     */
+    private ProcessResult<T> buildProcessResult(ChainContext<T> chainContext, ChainParam<T> chainParam) {
+        // 冻结节点时间线，回调中读取到的是一致的时间线
+        chainParam.getNodeTimeline().freeze();
+
+        ProcessResult<T> failResult;
+        // 部分成功只执行执行后回调
+        if (chainParam.isPartialSuccess()) {
+            failResult = doAfterExecute(chainContext);
+            ProcessResult<T> processResult = Objects.nonNull(failResult) ? failResult : buildPartialSuccessResult(chainContext.getContextInfo());
+            logEndResult(chainContext, processResult);
+            return processResult;
+        }
+
+        // 不为空则失败
+        if (Objects.nonNull(chainParam.getProcessResult())) {
+            if (chainParam.isTimeoutFail()) {
+                failResult = doOnTimeoutFail(chainContext);
+            } else if (chainParam.isBusinessFail()) {
+                failResult = doOnBusinessFail(chainContext, (BusinessException) chainParam.getFailException());
+            } else {
                 failResult = doOnUnknowFail(chainContext, chainParam.getFailException());
             }
 
             if (Objects.nonNull(failResult)) {
-                log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(failResult));
+                logEndResult(chainContext, failResult);
                 return failResult;
             } else {
                 failResult = doAfterExecute(chainContext);
                 if (Objects.nonNull(failResult)) {
-                    log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(failResult));
+                    logEndResult(chainContext, failResult);
                     return failResult;
                 }
 
-                log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(chainParam.getProcessResult()));
+                logEndResult(chainContext, chainParam.getProcessResult());
                 return chainParam.getProcessResult();
             }
         } else {
             failResult = doOnSuccess(chainContext);
             if (Objects.nonNull(failResult)) {
-                log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(failResult));
+                logEndResult(chainContext, failResult);
                 return failResult;
             }
 
             failResult = doAfterExecute(chainContext);
             if (Objects.nonNull(failResult)) {
-                log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(failResult));
+                logEndResult(chainContext, failResult);
                 return failResult;
             }
 
             ProcessResult<T> processResult = buildSuccessResult(chainContext.getContextInfo());
-            log.info(logStr + " end processResult=" + JsonUtil.objectConvertToJson(processResult));
+            logEndResult(chainContext, processResult);
             return processResult;
         }
     }
@@ -504,22 +1170,52 @@ public abstract class AbstractChain<T> {
     /**
      * 获取初始化链路参数
      *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param startTime       链路开始时间，System.nanoTime
      * @return ChainParam<T>
      */
-    private ChainParam<T> getInitChainParam() {
-        ChainParam<T> chainParam = new ChainParam<>();
+    private ChainParam<T> getInitChainParam(ChainContext<T> chainContext, ExecutorService executorService, long startTime) {
+        // 初始化所有节点状态、重试次数、计数器和节点时间线
+        ChainParam<T> chainParam = ChainParam.create(chainPlan, startTime);
+        chainParam.setDeadline(startTime + TimeUnit.MILLISECONDS.toNanos(getChainTimeout()));
+        chainContext.setDeadline(chainParam.getDeadline());
+        chainContext.setNodeTimeline(chainParam.getNodeTimeline());
+        chainContext.clearCancelled();
         // 获取线程上下文配置
         chainParam.setThreadContextInitConfigMap(getThreadContextInitConfigMap());
         chainParam.setThreadContextInitConfigSet(getThreadContextInitConfigs());
-
-        // 初始化所有节点状态
-        chainParam.setNodeClassStatusMap(chainNodeMap.entrySet().stream().collect(Collectors.toConcurrentMap(Map.Entry::getKey, v -> ChainParam.NodeStatusEnum.NOT_STARTED.getCode(), (v1, v2) -> v2)));
-        // 初始化所有节点重试次数
-        chainParam.setNodeClassRetryCountMap(chainNodeMap.entrySet().stream().collect(Collectors.toConcurrentMap(Map.Entry::getKey, v -> 0, (v1, v2) -> v2)));
-        // 初始化计数器
-        chainParam.setCompletedNodeCountDownLatch(new CountDownLatch(chainNodeMap.size()));
-        chainParam.setTimeoutFail(false);
-        chainParam.setBusinessFail(false);
+        // 流式节点通过上下文获取通道，并行处理的辅助线程同样设置线程上下文
+        if (chainPlan.isHasStreamNode()) {
+            Map<Class<? extends AbstractNode>, StreamChannel<?>> streamChannelMap = new HashMap<>();
+            for (int i = 0; i < chainPlan.getNodeCount(); i++) {
+                if (Objects.nonNull(chainParam.getStreamChannels()[i])) {
+                    streamChannelMap.put(chainPlan.getNodeClasses()[i], chainParam.getStreamChannels()[i]);
+                }
+            }
+            // 与节点线程池一致，只有开启虚拟线程时才使用虚拟线程
+            ExecutorService streamExecutorService = openVirtualThread() && ThreadUtil.isSupportVirtualThread()
+                    ? ThreadUtil.getVirtualChainThreadPool() : ThreadUtil.getStreamChainThreadPool();
+            chainContext.setStream(streamChannelMap, task -> streamExecutorService.execute(() -> {
+                initThreadContext(chainParam.getThreadContextInitConfigMap());
+                try {
+                    task.run();
+                } finally {
+                    removeThreadContext(chainParam.getThreadContextInitConfigSet());
+                }
+            }));
+        }
+        // 并行节点的分片提交到链路线程池，同样设置线程上下文
+        if (chainPlan.isHasParallelMapNode()) {
+            chainContext.setParallel(this.getClass(), openMonitor(), task -> executorService.execute((ThreadUtil.ChainTask) () -> {
+                initThreadContext(chainParam.getThreadContextInitConfigMap());
+                try {
+                    task.run();
+                } finally {
+                    removeThreadContext(chainParam.getThreadContextInitConfigSet());
+                }
+            }));
+        }
         return chainParam;
     }
 
@@ -528,72 +1224,680 @@ public abstract class AbstractChain<T> {
      *
      * @param chainContext    chainContext
      * @param executorService executorService
-     * @param nodeClasses     nodeClasses
+     * @param nodeIds         nodeIds
      * @param chainParam      chainParam
      */
-    protected void startRunNode(ChainContext<T> chainContext, ExecutorService executorService, Collection<Class<? extends AbstractNode>> nodeClasses, ChainParam<T> chainParam) {
-        if (!CollectionUtils.isEmpty(nodeClasses)) {
-            nodeClasses.forEach(nodeClass -> {
-                ChainNode chainNode = chainNodeMap.get(nodeClass);
-                if (Objects.nonNull(chainNode)) {
-                    ThreadUtil.withinTime(buildNodeFuture(chainContext, executorService, nodeClass, chainParam), Duration.ofMillis(chainNode.getGetNodeTimeout().getAsLong()))
-                            .thenRun(() -> startRunNode(chainContext, executorService, childNodeClassMap.get(nodeClass), chainParam))
-                            .exceptionally(throwable -> {
-                                chainNode.getFailHandle().getFailHandle().dealFailNode(chainContext, executorService, nodeClass, chainParam, chainNodeMap, childNodeClassMap, this, throwable, getLogPrefix(chainContext));
-                                return null;
-                            });
-                }
-            });
+    protected void startRunNode(ChainContext<T> chainContext, ExecutorService executorService, int[] nodeIds, ChainParam<T> chainParam) {
+        for (int nodeId : nodeIds) {
+            startRunNode(chainContext, executorService, nodeId, chainParam);
         }
     }
 
     /**
-     * 构建节点future
+     * 开始跑节点，节点不是可执行状态则忽略，保证同一节点同时只提交一次
      *
      * @param chainContext    chainContext
      * @param executorService executorService
-     * @param nodeClass       nodeClass
+     * @param nodeId          nodeId
      * @param chainParam      chainParam
-     * @return CompletableFuture<Void>
      */
-    private CompletableFuture<Void> buildNodeFuture(ChainContext<T> chainContext, ExecutorService executorService, Class<? extends AbstractNode> nodeClass, ChainParam<T> chainParam) {
-        return CompletableFuture.runAsync(() -> {
-            // 不存在的
-            if (Objects.isNull(nodeClass)) {
+    protected void startRunNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId, ChainParam<T> chainParam) {
+        startRunNode(chainContext, executorService, nodeId, chainParam, false);
+    }
+
+    /**
+     * 开始跑节点，先注册完成回调再提交任务，回调总是在完成节点的线程上执行
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param nodeId          nodeId
+     * @param chainParam      chainParam
+     * @param isInline        是否在当前节点线程上内联执行
+     */
+    private void startRunNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId, ChainParam<T> chainParam, boolean isInline) {
+        if (!chainParam.tryStartNode(nodeId)) {
+            return;
+        }
+
+        // 批量执行时批量节点先等待其他上下文到达
+        ChainBatch<T> chainBatch = chainParam.getChainBatch();
+        boolean isBatchNode = Objects.nonNull(chainBatch) && chainBatch.isBatchNode(nodeId);
+
+        // 已到链路截止时间，即使执行也没有人读取结果，不提交线程池，节点保持进行中，由链路超时统一处理
+        long remainingTime = chainParam.getRemainingTime();
+        if (remainingTime <= 0) {
+            if (isBatchNode) {
+                chainBatch.arrive(nodeId, null);
+            }
+            return;
+        }
+
+        ChainNode chainNode = chainPlan.getChainNodes()[nodeId];
+        // 首次执行存入重试令牌
+        if (Objects.nonNull(chainNode.getRetryPolicy()) && chainParam.getNodeRetryCounts()[nodeId] == 0) {
+            chainNode.getRetryPolicy().deposit();
+        }
+        boolean isInlineNode = chainNode.getNode().isInline();
+        // 熔断器打开或舱壁已满不提交线程池，直接按节点失败处理
+        NodeCircuitBreaker circuitBreaker = chainPlan.getNodeCircuitBreakers()[nodeId];
+        boolean isCircuitBreakerOpen = Objects.nonNull(circuitBreaker) && !circuitBreaker.tryAcquire();
+        boolean isBulkheadFull = !isCircuitBreakerOpen && !chainParam.tryAcquireNodeBulkhead(nodeId);
+        boolean isRejected = isCircuitBreakerOpen || isBulkheadFull;
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        // 内联节点和被拒绝的节点不设置节点超时，节点超时时间不超过链路剩余时间
+        long configNodeTimeout = isInlineNode || isRejected ? 0L : chainNode.getGetNodeTimeout().getAsLong();
+        boolean isDeadlineCapped = configNodeTimeout > remainingTime;
+        long nodeTimeout = Math.min(configNodeTimeout, remainingTime);
+        CompletableFuture<Void> nodeFuture = isInlineNode || isRejected ? future : ThreadUtil.withinTime(future, Duration.ofMillis(nodeTimeout));
+        nodeFuture.thenRun(() -> {
+                    if (!isCircuitBreakerOpen) {
+                        recordCircuitBreaker(circuitBreaker, nodeId, chainParam, null);
+                    }
+                    chainParam.getNodeTimeline().recordCompleted(nodeId);
+                    if (chainPlan.isHasStreamNode()) {
+                        endStreamChannels(nodeId, chainParam, null);
+                    }
+                    completeNode(chainContext, executorService, nodeId, chainParam);
+                })
+                .exceptionally(throwable -> {
+                    // 先记录熔断结果，被截断的超时同样计入熔断并释放半开许可
+                    if (!isCircuitBreakerOpen) {
+                        recordCircuitBreaker(circuitBreaker, nodeId, chainParam, throwable);
+                    }
+                    // 超时时间被链路剩余时间截断，说明已到链路截止时间，由链路超时统一中断，避免与链路超时竞争结果，
+                    // 也不让流式通道失败导致其他节点先按失败处理，不计入节点耗时
+                    if (isDeadlineCapped && throwable.getCause() instanceof TimeoutException) {
+                        return null;
+                    }
+                    if (chainPlan.isHasStreamNode()) {
+                        endStreamChannels(nodeId, chainParam, Objects.isNull(throwable.getCause()) ? throwable : throwable.getCause());
+                    }
+
+                    // 链路已中断，不再处理
+                    if (ChainParam.NodeStatusEnum.ONGOING.getCode() != chainParam.getNodeStatuses().get(nodeId)) {
+                        return null;
+                    }
+
+                    // 节点超时，取消仍在执行或排队的节点，自适应时间按本次超时时间记录，避免只统计未超时的执行
+                    if (throwable.getCause() instanceof TimeoutException) {
+                        chainParam.cancelNode(nodeId, executorService);
+                        recordAdaptiveTime(nodeId, TimeUnit.MILLISECONDS.toNanos(nodeTimeout));
+                    }
+
+                    chainNode.getFailHandle().getFailHandle().dealFailNode(chainContext, executorService, nodeId, chainParam, chainPlan, this, throwable,
+                            chainContext.isLogEnabled() ? getLogPrefix(chainContext) : null);
+                    return null;
+                });
+
+        if (isRejected) {
+            String nodeName = chainPlan.getNodeClasses()[nodeId].getSimpleName();
+            String msg;
+            if (isCircuitBreakerOpen) {
+                msg = ProcessException.MsgEnum.NODE_CIRCUIT_BREAKER_OPEN.getMsg() + "=" + nodeName;
+            } else {
+                if (openMonitor()) {
+                    Monitor.addBulkheadRejectCount(this.getClass(), chainNode.getNode().getClass());
+                }
+                msg = ProcessException.MsgEnum.NODE_BULKHEAD_FULL.getMsg() + "=" + nodeName + " maxConcurrent=" + chainNode.getBulkhead().getMaxConcurrent();
+            }
+            future.completeExceptionally(new CompletionException(new RejectedExecutionException(msg)));
+            if (isBatchNode) {
+                chainBatch.arrive(nodeId, null);
+            }
+            return;
+        }
+
+        // 内联节点没有超时，也不对冲
+        HedgeState hedgeState = isInlineNode || ChainNode.FailHandleEnum.HEDGE != chainNode.getFailHandle() ? null : new HedgeState();
+        NodeTask task = new NodeTask(chainContext, executorService, nodeId, chainParam, future, hedgeState, false);
+        chainParam.registerNodeTask(nodeId, task, future);
+        if (Objects.nonNull(hedgeState)) {
+            scheduleHedge(chainNode, future, task, hedgeState);
+        }
+
+        // 批量节点不内联，凑够一批后一起提交
+        if (isBatchNode) {
+            chainBatch.arrive(nodeId, task);
+            return;
+        }
+
+        // 只有在节点任务线程上才内联，定时线程和调用线程上仍提交线程池，舱壁指定了独立线程池的节点不内联
+        ExecutorService nodeExecutorService = chainParam.getNodeExecutorService(nodeId, executorService);
+        if ((isInline || isInlineNode) && nodeExecutorService == executorService) {
+            InlineNodeTasks inlineNodeTasks = INLINE_NODE_TASKS.get();
+            if (inlineNodeTasks.isRunning) {
+                inlineNodeTasks.nodeTasks.add(task);
                 return;
             }
+        }
+
+        submitNodeTask(task, nodeExecutorService);
+    }
+
+    /**
+     * 提交节点任务，线程池拒绝时立即以被拒绝失败完成节点，由节点的失败处理决定后续，不再等到链路超时
+     *
+     * @param task            task
+     * @param executorService 节点任务提交的线程池
+     */
+    private void submitNodeTask(NodeTask task, ExecutorService executorService) {
+        try {
+            executorService.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 任务未提交，不会再执行
+            task.chainParam.releaseNodeBulkhead(task.nodeId);
+            task.future.completeExceptionally(new CompletionException(new RejectedExecutionException(ProcessException.MsgEnum.NODE_REJECTED.getMsg() + "="
+                    + chainPlan.getNodeClasses()[task.nodeId].getSimpleName(), e)));
+        }
+    }
+
+    /**
+     * 提交一批批量节点任务，在同一个线程上一次性执行，线程池拒绝时所有任务以被拒绝失败完成
+     *
+     * @param nodeId          nodeId
+     * @param tasks           tasks
+     * @param executorService executorService
+     */
+    private void submitBatchNodeTask(int nodeId, List<Runnable> tasks, ExecutorService executorService) {
+        List<NodeTask> nodeTasks = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            nodeTasks.add((NodeTask) task);
+        }
+
+        try {
+            nodeTasks.get(0).chainParam.getNodeExecutorService(nodeId, executorService).execute((ThreadUtil.ChainTask) () -> runBatchNodeTask(nodeId, nodeTasks));
+        } catch (RejectedExecutionException e) {
+            for (NodeTask task : nodeTasks) {
+                task.chainParam.releaseNodeBulkhead(nodeId);
+                task.future.completeExceptionally(new CompletionException(new RejectedExecutionException(ProcessException.MsgEnum.NODE_REJECTED.getMsg() + "="
+                        + chainPlan.getNodeClasses()[nodeId].getSimpleName(), e)));
+            }
+        }
+    }
 
-            ChainNode chainNode = chainNodeMap.get(nodeClass);
-            if (Objects.isNull(chainNode)) {
+    /**
+     * 执行一批批量节点任务，跳过已取消的任务，所有任务共用一次执行的结果
+     *
+     * @param nodeId    nodeId
+     * @param nodeTasks nodeTasks
+     */
+    @SuppressWarnings("unchecked")
+    private void runBatchNodeTask(int nodeId, List<NodeTask> nodeTasks) {
+        List<NodeTask> startedNodeTasks = new ArrayList<>(nodeTasks.size());
+        List<ChainContext<T>> chainContexts = new ArrayList<>(nodeTasks.size());
+        for (NodeTask task : nodeTasks) {
+            if (task.begin()) {
+                startedNodeTasks.add(task);
+                chainContexts.add(task.chainContext);
+            }
+        }
+        if (startedNodeTasks.isEmpty()) {
+            return;
+        }
+
+        // 同一次批量执行的上下文来自同一个调用方，线程上下文相同
+        ChainParam<T> chainParam = startedNodeTasks.get(0).chainParam;
+        long endTime;
+        Throwable throwable = null;
+        try {
+            initThreadContext(chainParam.getThreadContextInitConfigMap());
+            ((AbstractBatchNode<T>) chainPlan.getChainNodes()[nodeId].getNode()).doExecuteBatch(chainContexts, this.getClass());
+        } catch (Throwable e) {
+            throwable = e;
+        } finally {
+            endTime = System.nanoTime();
+            removeThreadContext(chainParam.getThreadContextInitConfigSet());
+        }
+
+        for (NodeTask task : startedNodeTasks) {
+            task.end(endTime, throwable);
+        }
+    }
+
+    /**
+     * 对冲延迟时间后节点仍未完成，则再提交一个副本，节点完成时取消定时
+     *
+     * @param chainNode  chainNode
+     * @param future     future
+     * @param task       主任务
+     * @param hedgeState hedgeState
+     */
+    private void scheduleHedge(ChainNode chainNode, CompletableFuture<Void> future, NodeTask task, HedgeState hedgeState) {
+        HashedWheelTimer.Timeout timeout = ThreadUtil.schedule(() -> {
+            if (future.isDone() || !hedgeState.tryLaunchHedge()) {
                 return;
             }
 
-            // 父节点还有未执行完的
-            Set<Class<? extends AbstractNode>> parentNodeClassSet = parentNodeClassMap.get(nodeClass);
-            if (!CollectionUtils.isEmpty(parentNodeClassSet) && parentNodeClassSet.stream().anyMatch(item -> ChainParam.NodeStatusEnum.COMPLETED.getCode() != chainParam.getNodeClassStatusMap().get(item))) {
+            // 对冲副本同样占用舱壁，舱壁已满时不对冲
+            if (task.chainParam.tryAcquireNodeBulkhead(task.nodeId)) {
+                NodeTask hedgeTask = new NodeTask(task.chainContext, task.executorService, task.nodeId, task.chainParam, future, hedgeState, true);
+                try {
+                    if (task.chainParam.registerHedgeNodeTask(task.nodeId, hedgeTask)) {
+                        task.chainParam.getNodeExecutorService(task.nodeId, task.executorService).execute(hedgeTask);
+                        if (openMonitor()) {
+                            Monitor.addHedgeCount(this.getClass(), chainNode.getNode().getClass());
+                        }
+                        return;
+                    }
+                    task.chainParam.releaseNodeBulkhead(task.nodeId);
+                } catch (Exception e) {
+                    task.chainParam.cancelHedgeLoser(task.nodeId, true, task.executorService);
+                    task.chainParam.releaseNodeBulkhead(task.nodeId);
+                    if (task.chainContext.isLogEnabled()) {
+                        log.info(getLogPrefix(task.chainContext) + " node [" + chainNode.getNode().getClass().getSimpleName() + "] submit hedge fail msg=" + getExceptionLog(e));
+                    }
+                }
+            } else if (openMonitor()) {
+                Monitor.addBulkheadRejectCount(this.getClass(), chainNode.getNode().getClass());
+            }
+
+            // 对冲副本未提交，主任务已失败则由这里完成节点
+            if (hedgeState.cancelHedge()) {
+                future.completeExceptionally(new CompletionException(hedgeState.failure));
+            }
+        }, Duration.ofMillis(chainNode.getGetHedgeDelay().getAsLong()));
+        future.whenComplete((v, throwable) -> timeout.cancel());
+    }
+
+    /**
+     * 节点结束时处理流式通道，成功时关闭输出通道并丢弃输入通道中未读取的数据，失败时输入和输出通道一起失败，唤醒上下游
+     *
+     * @param nodeId     nodeId
+     * @param chainParam chainParam
+     * @param throwable  失败异常，成功为null
+     */
+    private void endStreamChannels(int nodeId, ChainParam<T> chainParam, Throwable throwable) {
+        StreamChannel<?> outputChannel = chainParam.getStreamChannels()[nodeId];
+        int streamSourceNodeId = chainPlan.getStreamSourceNodeIds()[nodeId];
+        StreamChannel<?> inputChannel = streamSourceNodeId >= 0 ? chainParam.getStreamChannels()[streamSourceNodeId] : null;
+        if (Objects.isNull(throwable)) {
+            if (Objects.nonNull(outputChannel)) {
+                outputChannel.close();
+            }
+            if (Objects.nonNull(inputChannel)) {
+                inputChannel.discard();
+            }
+        } else {
+            if (Objects.nonNull(outputChannel)) {
+                outputChannel.fail(throwable);
+            }
+            if (Objects.nonNull(inputChannel)) {
+                inputChannel.fail(throwable);
+            }
+        }
+    }
+
+    /**
+     * 启动下游流式节点，数据源开始执行或完成时调用，只启动一次，还有未完成的普通父节点时由最后完成的父节点启动
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param nodeId          数据源节点id
+     * @param chainParam      chainParam
+     */
+    private void startStreamChildNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId, ChainParam<T> chainParam) {
+        int streamChildNodeId = chainPlan.getStreamChildNodeIds()[nodeId];
+        if (streamChildNodeId >= 0 && chainParam.tryStartStreamChild(nodeId) && chainParam.releaseParent(streamChildNodeId)) {
+            startRunNode(chainContext, executorService, streamChildNodeId, chainParam, false);
+        }
+    }
+
+    /**
+     * 记录熔断器放行的执行结果，被拒绝的执行和链路已中断后的失败不计入，超时无论链路是否已中断都计入失败
+     *
+     * @param circuitBreaker circuitBreaker
+     * @param nodeId         nodeId
+     * @param chainParam     chainParam
+     * @param throwable      失败异常，成功为null
+     */
+    private void recordCircuitBreaker(NodeCircuitBreaker circuitBreaker, int nodeId, ChainParam<T> chainParam, Throwable throwable) {
+        if (Objects.isNull(circuitBreaker)) {
+            return;
+        }
+
+        // 节点超时时间不超过链路剩余时间，链路超时与节点超时同时到达，链路可能先中断，超时仍按失败计入
+        boolean isTimeout = Objects.nonNull(throwable) && throwable.getCause() instanceof TimeoutException;
+        if ((!isTimeout && ChainParam.NodeStatusEnum.ONGOING.getCode() != chainParam.getNodeStatuses().get(nodeId))
+                || (Objects.nonNull(throwable) && throwable.getCause() instanceof RejectedExecutionException)) {
+            circuitBreaker.onIgnore();
+        } else {
+            circuitBreaker.onResult(Objects.isNull(throwable));
+        }
+    }
+
+    /**
+     * 记录节点耗时到自适应超时时间和自适应对冲延迟时间
+     *
+     * @param nodeId nodeId
+     * @param time   提交到执行结束的耗时，单位纳秒
+     */
+    private void recordAdaptiveTime(int nodeId, long time) {
+        AdaptiveNodeTimeout adaptiveNodeTimeout = chainPlan.getAdaptiveNodeTimeouts()[nodeId];
+        if (Objects.nonNull(adaptiveNodeTimeout)) {
+            adaptiveNodeTimeout.record(time);
+        }
+
+        AdaptiveNodeTimeout adaptiveHedgeDelay = chainPlan.getAdaptiveHedgeDelays()[nodeId];
+        if (Objects.nonNull(adaptiveHedgeDelay)) {
+            adaptiveHedgeDelay.record(time);
+        }
+    }
+
+    /**
+     * 完成节点，并启动所有父节点都已完成的子节点，由最后一个完成的父节点负责启动
+     * <p>
+     * 开启内联执行时，只有一个子节点可以启动则在当前线程上直接执行
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param nodeId          nodeId
+     * @param chainParam      chainParam
+     */
+    protected void completeNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId, ChainParam<T> chainParam) {
+        // 已被中断或已超时处理
+        if (!chainParam.tryCompleteNode(nodeId)) {
+            return;
+        }
+
+        // 数据源未执行就完成时，下游流式节点在这里启动，读取到通道结束或失败
+        if (chainPlan.isHasStreamNode()) {
+            startStreamChildNode(chainContext, executorService, nodeId, chainParam);
+        }
+
+        // 延迟启动最后一个可启动的子节点，用于判断是否只有一个
+        int readyNodeId = -1;
+        boolean isOnlyReady = true;
+        for (int childNodeId : chainPlan.getChildNodeIds()[nodeId]) {
+            if (chainParam.releaseParent(childNodeId)) {
+                if (readyNodeId >= 0) {
+                    startRunNode(chainContext, executorService, readyNodeId, chainParam, false);
+                    isOnlyReady = false;
+                }
+                readyNodeId = childNodeId;
+            }
+        }
+
+        if (readyNodeId >= 0) {
+            startRunNode(chainContext, executorService, readyNodeId, chainParam, isOnlyReady && openInlineExecute());
+        }
+    }
+
+    /**
+     * 节点任务
+     */
+    private class NodeTask implements ThreadUtil.ChainTask {
+
+        private final ChainContext<T> chainContext;
+
+        private final ExecutorService executorService;
+
+        private final int nodeId;
+
+        private final ChainParam<T> chainParam;
+
+        private final CompletableFuture<Void> future;
+
+        /**
+         * 对冲状态，主任务和对冲副本共用，非对冲节点为null
+         */
+        private final HedgeState hedgeState;
+
+        /**
+         * 是否对冲副本
+         */
+        private final boolean isHedge;
+
+        /**
+         * 提交时间，System.nanoTime
+         */
+        private final long enqueueTime;
+
+        /**
+         * 开始执行时间，System.nanoTime
+         */
+        private long startTime;
+
+        private NodeTask(ChainContext<T> chainContext, ExecutorService executorService, int nodeId, ChainParam<T> chainParam, CompletableFuture<Void> future,
+                         HedgeState hedgeState, boolean isHedge) {
+            this.chainContext = chainContext;
+            this.executorService = executorService;
+            this.nodeId = nodeId;
+            this.chainParam = chainParam;
+            this.future = future;
+            this.hedgeState = hedgeState;
+            this.isHedge = isHedge;
+            this.enqueueTime = System.nanoTime();
+            if (Objects.nonNull(hedgeState) && !isHedge) {
+                hedgeState.enqueueTime = enqueueTime;
+            }
+        }
+
+        /**
+         * 执行节点，完成回调中加入的内联节点在本线程上依次执行，不递归
+         */
+        @Override
+        public void run() {
+            InlineNodeTasks inlineNodeTasks = INLINE_NODE_TASKS.get();
+            if (inlineNodeTasks.isRunning) {
+                execute();
                 return;
             }
 
-            // 判断当前状态是否可执行
-            if (!ChainParam.NodeStatusEnum.getCanRunNodeStatusSet().contains(chainParam.getNodeClassStatusMap().get(nodeClass))) {
+            inlineNodeTasks.isRunning = true;
+            try {
+                execute();
+                AbstractChain<?>.NodeTask nodeTask;
+                while ((nodeTask = inlineNodeTasks.nodeTasks.poll()) != null) {
+                    nodeTask.execute();
+                }
+            } finally {
+                inlineNodeTasks.isRunning = false;
+                // 异常退出时剩余的内联节点交还线程池
+                AbstractChain<?>.NodeTask nodeTask;
+                while ((nodeTask = inlineNodeTasks.nodeTasks.poll()) != null) {
+                    nodeTask.resubmit();
+                }
+            }
+        }
+
+        private void execute() {
+            if (!begin()) {
                 return;
             }
 
-            chainParam.getNodeClassStatusMap().put(nodeClass, ChainParam.NodeStatusEnum.ONGOING.getCode());
+            long endTime;
+            Throwable throwable = null;
+            try {
+                // 设置子线程上下文
+                initThreadContext(chainParam.getThreadContextInitConfigMap());
+                chainPlan.getChainNodes()[nodeId].getNode().doExecute(chainContext, AbstractChain.this.getClass());
+            } catch (Throwable e) {
+                throwable = e;
+            } finally {
+                endTime = System.nanoTime();
+                // 移除子线程上下文
+                removeThreadContext(chainParam.getThreadContextInitConfigSet());
+            }
+            end(endTime, throwable);
+        }
+
+        /**
+         * 开始执行，记录执行线程和开始时间
+         *
+         * @return 是否可以执行，排队期间链路已中断或节点已取消时返回false
+         */
+        private boolean begin() {
+            if (!chainParam.startNodeTask(nodeId, this, isHedge)) {
+                chainParam.releaseNodeBulkhead(nodeId);
+                future.complete(null);
+                return false;
+            }
 
-            // 设置子线程上下文
-            initThreadContext(chainParam.getThreadContextInitConfigMap());
-            long time = chainNode.getNode().doExecute(chainContext, this.getClass());
-            // 移除子线程上下文
-            removeThreadContext(chainParam.getThreadContextInitConfigSet());
+            startTime = System.nanoTime();
+            // 对冲节点的时间线从主任务开始，到完成节点的副本结束
+            if (!isHedge) {
+                chainParam.getNodeTimeline().recordStart(nodeId, enqueueTime, startTime, chainParam.getNodeRetryCounts()[nodeId]);
+            }
+            // 流式节点开始执行时启动下游流式节点，上下游同时执行
+            if (chainPlan.isHasStreamNode()) {
+                startStreamChildNode(chainContext, executorService, nodeId, chainParam);
+            }
+            return true;
+        }
+
+        /**
+         * 执行结束，记录耗时并完成节点
+         *
+         * @param endTime   结束时间，System.nanoTime
+         * @param throwable 失败异常，成功为null
+         */
+        private void end(long endTime, Throwable throwable) {
+            boolean isOwner = chainParam.endNodeTask(nodeId, isHedge);
+            // 完成future前释放，重试时可以重新获取
+            chainParam.releaseNodeBulkhead(nodeId);
+
+            // 对冲节点由先成功的副本完成节点，都失败时由最后结束的副本完成
+            boolean isCompleter;
+            if (Objects.isNull(hedgeState)) {
+                isCompleter = true;
+            } else if (Objects.isNull(throwable)) {
+                isCompleter = hedgeState.tryWin();
+            } else {
+                isCompleter = hedgeState.fail(throwable);
+            }
+
+            // 已被取消的任务不记录结束时间，避免覆盖重试后的执行，自适应时间统计提交到执行结束的耗时，和超时计时范围一致
+            if (isOwner && isCompleter) {
+                chainParam.getNodeTimeline().recordEnd(nodeId, endTime);
+                recordAdaptiveTime(nodeId, endTime - (Objects.isNull(hedgeState) ? enqueueTime : hedgeState.enqueueTime));
+            }
+
+            if (openAdmissionControl()) {
+                // 指数移动平均，读改写不是原子的，并发结束的节点可能覆盖彼此的更新，只丢失个别样本，不影响排队时间估算，
+                // 不使用CAS，避免每个节点结束时在同一个变量上竞争
+                long runTime = endTime - startTime;
+                avgNodeRunTime += (runTime - avgNodeRunTime) >> 4;
+            }
 
-            // 节点执行成功
-            chainParam.getCompletedNodeCountDownLatch().countDown();
-            chainParam.getNodeClassStatusMap().put(nodeClass, ChainParam.NodeStatusEnum.COMPLETED.getCode());
+            // 排队等待和执行耗时分开记录，失败的执行也记录
             if (openMonitor()) {
-                Monitor.addCount(this.getClass(), chainNode.getNode().getClass(), time);
+                Class<? extends AbstractNode> nodeClass = chainPlan.getChainNodes()[nodeId].getNode().getClass();
+                Monitor.addCount(AbstractChain.this.getClass(), nodeClass, startTime - enqueueTime, endTime - startTime);
+                if (isHedge) {
+                    Monitor.addHedgeTime(AbstractChain.this.getClass(), nodeClass, endTime - startTime, isCompleter && Objects.isNull(throwable));
+                }
+            }
+
+            if (!isCompleter) {
+                return;
+            }
+
+            // 任务结束后再完成future，后续回调不会被当作该节点取消
+            if (Objects.isNull(throwable)) {
+                if (Objects.nonNull(hedgeState)) {
+                    chainParam.cancelHedgeLoser(nodeId, !isHedge, executorService);
+                }
+                future.complete(null);
+            } else {
+                future.completeExceptionally(new CompletionException(throwable));
+            }
+        }
+
+        /**
+         * 内联节点交还线程池
+         */
+        private void resubmit() {
+            submitNodeTask(this, executorService);
+        }
+
+    }
+
+    /**
+     * 对冲状态，主任务和对冲副本共用
+     */
+    private static class HedgeState {
+
+        /**
+         * 已提交且未结束的副本数量
+         */
+        private final AtomicInteger runningCount = new AtomicInteger(1);
+
+        /**
+         * 是否已有副本成功
+         */
+        private final AtomicBoolean won = new AtomicBoolean();
+
+        /**
+         * 主任务提交时间，System.nanoTime
+         */
+        private long enqueueTime;
+
+        /**
+         * 最后一次失败
+         */
+        private volatile Throwable failure;
+
+        /**
+         * 尝试提交对冲副本，已有副本成功或所有副本都已结束时返回false
+         *
+         * @return 是否可以提交
+         */
+        private boolean tryLaunchHedge() {
+            while (true) {
+                int count = runningCount.get();
+                if (count <= 0 || won.get()) {
+                    return false;
+                }
+                if (runningCount.compareAndSet(count, count + 1)) {
+                    return true;
+                }
             }
-        }, executorService);
+        }
+
+        /**
+         * 对冲副本未能提交，撤销计数
+         *
+         * @return 是否需要由调用方以失败完成节点
+         */
+        private boolean cancelHedge() {
+            return runningCount.decrementAndGet() == 0 && !won.get();
+        }
+
+        /**
+         * 副本成功
+         *
+         * @return 是否第一个成功
+         */
+        private boolean tryWin() {
+            runningCount.decrementAndGet();
+            return won.compareAndSet(false, true);
+        }
+
+        /**
+         * 副本失败
+         *
+         * @param throwable throwable
+         * @return 是否所有副本都已失败
+         */
+        private boolean fail(Throwable throwable) {
+            failure = throwable;
+            return runningCount.decrementAndGet() == 0 && !won.get();
+        }
+
+    }
+
+    /**
+     * 当前线程待内联执行的节点任务
+     */
+    private static class InlineNodeTasks {
+
+        /**
+         * 当前线程是否正在执行节点任务
+         */
+        private boolean isRunning;
+
+        private final Deque<AbstractChain<?>.NodeTask> nodeTasks = new ArrayDeque<>();
+
     }
 
     /**
@@ -633,12 +1937,18 @@ public abstract class AbstractChain<T> {
     }
 
     /**
-     * 获取执行线程池
+     * 获取执行线程池，开启虚拟线程且运行环境支持时，每个节点一个虚拟线程
+     * <p>
+     * 自定义线程池的拒绝策略应抛出RejectedExecutionException，节点才会立即按被拒绝处理，丢弃任务时节点等到链路超时
      *
      * @return ExecutorService
      */
     @NonNull
     protected ExecutorService getThreadPool() {
+        if (openVirtualThread() && ThreadUtil.isSupportVirtualThread()) {
+            return ThreadUtil.getVirtualChainThreadPool();
+        }
+
         return ThreadUtil.COMMON_CHAIN_THREAD_POOL;
     }
 
@@ -720,6 +2030,13 @@ public abstract class AbstractChain<T> {
         return new ProcessResult<>(data);
     }
 
+    /**
+     * 构建部分成功结果
+     */
+    protected ProcessResult<T> buildPartialSuccessResult(T data) {
+        return new ProcessResult<>(data, ProcessResult.BaseEnum.PARTIAL_SUCCESS.getCode(), ProcessResult.BaseEnum.PARTIAL_SUCCESS.getMsg());
+    }
+
     /**
      * 构建失败结果
      */
@@ -1,15 +1,15 @@
 package cc.jinhx.easytool.process.chain;
 
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.ProcessException;
 import cc.jinhx.easytool.process.ProcessResult;
-import cc.jinhx.easytool.process.node.AbstractNode;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 抽象失败处理
@@ -47,6 +47,28 @@ public abstract class AbstractFailHandle {
         return null;
     }
 
+    /**
+     * 获取节点失败日志
+     *
+     * @param nodeName    nodeName
+     * @param cause       cause
+     * @param nodeTimeout nodeTimeout
+     * @return 节点失败日志
+     */
+    protected String getNodeFailLog(String nodeName, Throwable cause, long nodeTimeout) {
+        if (cause instanceof TimeoutException) {
+            return " node [" + nodeName + "] execute timeout fail nodeTimeout=" + nodeTimeout;
+        } else if (cause instanceof RejectedExecutionException) {
+            return " node [" + nodeName + "] execute rejected fail";
+        } else if (cause instanceof ProcessException) {
+            return " node [" + nodeName + "] execute process fail";
+        } else if (cause instanceof BusinessException) {
+            return " node [" + nodeName + "] execute business fail";
+        } else {
+            return " node [" + nodeName + "] execute unknown fail";
+        }
+    }
+
     /**
      * 构建失败结果
      */
@@ -55,34 +77,29 @@ public abstract class AbstractFailHandle {
     }
 
     /**
-     * 中断链路
+     * 中断链路，并取消执行中的节点
      *
-     * @param chainParam   chainParam
-     * @param chainNodeMap chainNodeMap
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param chainParam      chainParam
      */
-    protected <T> void interruptChain(ChainParam<T> chainParam, Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap) {
-        chainParam.getNodeClassStatusMap().putAll(chainNodeMap.entrySet().stream().collect(Collectors.toConcurrentMap(Map.Entry::getKey, v -> ChainParam.NodeStatusEnum.COMPLETED.getCode(), (v1, v2) -> v2)));
-        while (chainParam.getCompletedNodeCountDownLatch().getCount() > 0) {
-            chainParam.getCompletedNodeCountDownLatch().countDown();
-        }
+    protected <T> void interruptChain(ChainContext<T> chainContext, ExecutorService executorService, ChainParam<T> chainParam) {
+        chainParam.interrupt(chainContext, executorService);
     }
 
     /**
      * 处理失败节点
      *
-     * @param chainContext      chainContext
-     * @param executorService   executorService
-     * @param nodeClass         nodeClass
-     * @param chainParam        chainParam
-     * @param chainNodeMap      chainNodeMap
-     * @param childNodeClassMap childNodeClassMap
-     * @param chain             chain
-     * @param throwable         throwable
-     * @param logPrefix         logPrefix
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @param nodeId          nodeId
+     * @param chainParam      chainParam
+     * @param chainPlan       chainPlan
+     * @param chain           chain
+     * @param throwable       throwable
+     * @param logPrefix       日志前缀，为null时不打印日志
      */
-    protected abstract <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, Class<? extends AbstractNode> nodeClass,
-                                             ChainParam<T> chainParam, Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap,
-                                             Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> childNodeClassMap,
-                                             AbstractChain chain, Throwable throwable, String logPrefix);
+    protected abstract <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId,
+                                             ChainParam<T> chainParam, ChainPlan chainPlan, AbstractChain chain, Throwable throwable, String logPrefix);
 
 }
\ No newline at end of file
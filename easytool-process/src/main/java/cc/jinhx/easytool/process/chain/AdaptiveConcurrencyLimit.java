@@ -0,0 +1,226 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应并发限制
+ * <p>
+ * 限制同一链路同时执行的数量，按梯度算法根据链路耗时调整：短期平均耗时接近长期平均耗时时逐步放大限制，
+ * 短期耗时明显变长说明已开始排队，按长短期耗时的比例缩小限制，出现链路超时时按最小梯度缩小，使链路保持在吞吐拐点附近，而不是排队直到超时。
+ * 耗时在调用线程上累加，每100毫秒最多由一个线程重新计算一次限制。同一个对象返回给多个链路时共用同一个限制
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * 重新计算限制间隔，单位纳秒
+     */
+    private static final long UPDATE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * 每次计算最少样本数量
+     */
+    private static final long MIN_SAMPLE_COUNT = 10L;
+
+    /**
+     * 长期平均耗时的平滑窗口，单位为计算次数
+     */
+    private static final int LONG_WINDOW = 20;
+
+    /**
+     * 短期耗时允许超过长期耗时的倍数，超过才开始缩小限制
+     */
+    private static final double TOLERANCE = 1.5;
+
+    /**
+     * 新限制的平滑系数
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * 初始限制
+     */
+    @Getter
+    private final int initialLimit;
+
+    /**
+     * 最小限制
+     */
+    @Getter
+    private final int minLimit;
+
+    /**
+     * 最大限制
+     */
+    @Getter
+    private final int maxLimit;
+
+    /**
+     * 当前执行数量
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * 本次计算间隔内的最大执行数量
+     */
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    // 以下累计值不清零，计算时减去上一次计算时的累计值，溢出后相减仍然正确
+    private final LongAdder sampleTime = new LongAdder();
+
+    private final LongAdder sampleCount = new LongAdder();
+
+    private final LongAdder dropCount = new LongAdder();
+
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    // 以下字段只在updating为true时访问
+    private long lastSampleTime;
+
+    private long lastSampleCount;
+
+    private long lastDropCount;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private volatile long nextUpdateTime;
+
+    /**
+     * 当前限制
+     */
+    @Getter
+    private volatile int limit;
+
+
+    private AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        this.nextUpdateTime = System.nanoTime() + UPDATE_INTERVAL;
+    }
+
+    /**
+     * 创建自适应并发限制
+     *
+     * @param initialLimit 初始限制
+     * @param minLimit     最小限制，大于0
+     * @param maxLimit     最大限制
+     * @return AdaptiveConcurrencyLimit
+     */
+    public static AdaptiveConcurrencyLimit create(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("minLimit must be greater than 0 and less than or equal to maxLimit");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+        }
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * 尝试获取执行许可
+     *
+     * @return 是否获取成功
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int count = inFlight.get();
+            if (count >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(count, count + 1)) {
+                int maxCount = maxInFlight.get();
+                while (count + 1 > maxCount && !maxInFlight.compareAndSet(maxCount, count + 1)) {
+                    maxCount = maxInFlight.get();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放执行许可，并记录本次耗时，到达计算间隔时由一个线程重新计算限制
+     *
+     * @param rtt    链路耗时，单位纳秒
+     * @param isDrop 是否超时
+     */
+    void release(long rtt, boolean isDrop) {
+        inFlight.decrementAndGet();
+        // 次数最后累加，计算时先读次数，已计入次数的样本耗时一定已经计入
+        sampleTime.add(rtt);
+        if (isDrop) {
+            dropCount.increment();
+        }
+        sampleCount.increment();
+
+        long now = System.nanoTime();
+        if (now - nextUpdateTime >= 0 && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * 获取当前执行数量
+     *
+     * @return 当前执行数量
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long now) {
+        long totalCount = sampleCount.sum();
+        long count = totalCount - lastSampleCount;
+        if (count < MIN_SAMPLE_COUNT) {
+            return;
+        }
+
+        // 正在累加的样本可能只计入了耗时，多算的耗时在下一次计算时减去，不会累积
+        nextUpdateTime = now + UPDATE_INTERVAL;
+        long totalTime = sampleTime.sum();
+        long totalDrops = dropCount.sum();
+        double shortRtt = (double) (totalTime - lastSampleTime) / count;
+        long drops = totalDrops - lastDropCount;
+        lastSampleCount = totalCount;
+        lastSampleTime = totalTime;
+        lastDropCount = totalDrops;
+        int maxCount = maxInFlight.getAndSet(inFlight.get());
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+            // 负载恢复后耗时回落，长期耗时加快跟随，避免一直误判为未排队
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+        }
+
+        // 执行数量不到限制的一半时，限制不是瓶颈，不放大
+        if (drops == 0 && maxCount < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = drops > 0 ? 0.5 : Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+}
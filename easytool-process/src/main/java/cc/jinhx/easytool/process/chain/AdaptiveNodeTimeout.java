@@ -0,0 +1,188 @@
+package cc.jinhx.easytool.process.chain;
+
+import cc.jinhx.easytool.process.monitor.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 自适应节点超时时间
+ * <p>
+ * 超时时间 = clamp(节点最近耗时的分位数 * 倍数, 最小超时时间, 最大超时时间)，单位毫秒。
+ * 耗时为节点任务提交到执行结束的时间，和节点超时计时的范围一致，由引擎在节点执行结束后记录到无锁直方图。
+ * 超时时间缓存在volatile字段中，每秒最多由一个线程重新计算一次，统计窗口为最近10到20秒，样本不足时使用最大超时时间。
+ * 作为参数传入时只是配置模板，每个节点会复制一份独立统计
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class AdaptiveNodeTimeout implements LongSupplier {
+
+    /**
+     * 重新计算超时时间间隔，单位纳秒
+     */
+    private static final long UPDATE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 统计窗口切换间隔，单位纳秒
+     */
+    private static final long WINDOW_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * 最少样本数量
+     */
+    private static final long MIN_SAMPLE_COUNT = 100L;
+
+    /**
+     * 分位数，0到1
+     */
+    @Getter
+    private final double percentile;
+
+    /**
+     * 倍数
+     */
+    @Getter
+    private final double factor;
+
+    /**
+     * 最小超时时间，单位毫秒
+     */
+    @Getter
+    private final long minTimeout;
+
+    /**
+     * 最大超时时间，单位毫秒
+     */
+    @Getter
+    private final long maxTimeout;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    // 以下数组只在updating为true时访问
+    private final long[] currentCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    private final long[] windowCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * 统计窗口起点的累计计数
+     */
+    private long[] baseCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * 上一次切换窗口时的累计计数，下一次切换时成为窗口起点
+     */
+    private long[] lastCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    private long lastWindowTime;
+
+    private volatile long nextUpdateTime;
+
+    /**
+     * 当前超时时间，单位毫秒
+     */
+    @Getter
+    private volatile long timeout;
+
+
+    private AdaptiveNodeTimeout(double percentile, double factor, long minTimeout, long maxTimeout) {
+        this.percentile = percentile;
+        this.factor = factor;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.timeout = maxTimeout;
+        this.lastWindowTime = System.nanoTime();
+        this.nextUpdateTime = lastWindowTime + UPDATE_INTERVAL;
+    }
+
+    /**
+     * 创建自适应节点超时时间
+     *
+     * @param percentile 分位数，0到1，如0.99
+     * @param factor     倍数，大于0
+     * @param minTimeout 最小超时时间，单位毫秒
+     * @param maxTimeout 最大超时时间，单位毫秒，样本不足时使用
+     * @return AdaptiveNodeTimeout
+     */
+    public static AdaptiveNodeTimeout create(double percentile, double factor, long minTimeout, long maxTimeout) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be greater than 0 and less than or equal to 1");
+        }
+        if (factor <= 0) {
+            throw new IllegalArgumentException("factor must be greater than 0");
+        }
+        if (minTimeout <= 0 || minTimeout > maxTimeout) {
+            throw new IllegalArgumentException("minTimeout must be greater than 0 and less than or equal to maxTimeout");
+        }
+        return new AdaptiveNodeTimeout(percentile, factor, minTimeout, maxTimeout);
+    }
+
+    /**
+     * 复制配置，不复制统计
+     *
+     * @return AdaptiveNodeTimeout
+     */
+    AdaptiveNodeTimeout copy() {
+        return new AdaptiveNodeTimeout(percentile, factor, minTimeout, maxTimeout);
+    }
+
+    /**
+     * 记录一次节点耗时
+     *
+     * @param time 提交到执行结束的耗时，单位纳秒
+     */
+    void record(long time) {
+        histogram.record(time);
+    }
+
+    /**
+     * 获取超时时间，到达计算间隔时由一个线程重新计算，其他线程直接返回缓存值
+     *
+     * @return 超时时间，单位毫秒
+     */
+    @Override
+    public long getAsLong() {
+        long now = System.nanoTime();
+        if (now - nextUpdateTime >= 0 && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+        return timeout;
+    }
+
+    private void update(long now) {
+        nextUpdateTime = now + UPDATE_INTERVAL;
+        histogram.copyCounts(currentCounts);
+
+        long sampleCount = 0;
+        for (int i = 0; i < currentCounts.length; i++) {
+            windowCounts[i] = currentCounts[i] - baseCounts[i];
+            sampleCount += windowCounts[i];
+        }
+
+        if (sampleCount < MIN_SAMPLE_COUNT) {
+            timeout = maxTimeout;
+        } else {
+            long percentileTime = LatencyHistogram.getValueAtPercentile(windowCounts, percentile);
+            long newTimeout = (long) Math.ceil(percentileTime * factor / TimeUnit.MILLISECONDS.toNanos(1));
+            timeout = Math.min(maxTimeout, Math.max(minTimeout, newTimeout));
+        }
+
+        // 窗口起点后移一个切换间隔，窗口始终覆盖最近一到两个切换间隔
+        if (now - lastWindowTime >= WINDOW_INTERVAL) {
+            long[] counts = baseCounts;
+            baseCounts = lastCounts;
+            lastCounts = counts;
+            System.arraycopy(currentCounts, 0, lastCounts, 0, currentCounts.length);
+            lastWindowTime = now;
+        }
+    }
+
+}
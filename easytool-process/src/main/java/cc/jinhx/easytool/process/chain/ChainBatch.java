@@ -0,0 +1,202 @@
+package cc.jinhx.easytool.process.chain;
+
+import cc.jinhx.easytool.process.ProcessResult;
+import cc.jinhx.easytool.process.node.AbstractBatchNode;
+import cc.jinhx.easytool.process.node.AbstractNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量执行状态，一次批量执行创建一个
+ * <p>
+ * 同时执行的上下文数量不超过并行度，一个上下文执行完成后开始下一个，全部完成后按输入顺序完成结果。
+ * 执行到批量节点的上下文先在这里等待，所有执行中的上下文都已到达或越过该节点，或者等待数量达到最大批量时，
+ * 一次性交给批量节点执行。上下文之间只在批量节点上等待，按依赖关系不会互相等待，等待时间计入节点超时时间
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+class ChainBatch<T> {
+
+    /**
+     * 上下文数量
+     */
+    private final int contextCount;
+
+    /**
+     * 节点id -> 最大批量，非批量节点为0
+     */
+    private final int[] maxBatchSizes;
+
+    /**
+     * 凑够一批后的执行方法，参数为节点id和等待的节点任务
+     */
+    private final BiConsumer<Integer, List<Runnable>> batchNodeExecutor;
+
+    /**
+     * 下一个开始执行的上下文下标
+     */
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * 未完成的上下文数量
+     */
+    private final AtomicInteger remainingCount;
+
+    /**
+     * 按输入顺序的结果
+     */
+    private final ProcessResult<T>[] processResults;
+
+    /**
+     * 所有上下文完成时完成
+     */
+    private final CompletableFuture<List<ProcessResult<T>>> completedFuture = new CompletableFuture<>();
+
+    // 以下字段只在持有当前对象的锁时访问
+    /**
+     * 执行中的上下文的链路参数
+     */
+    private final Set<ChainParam<T>> runningChainParams = new HashSet<>();
+
+    /**
+     * 节点id -> 等待的节点任务，非批量节点为null
+     */
+    private final List<Runnable>[] waitingTasks;
+
+
+    @SuppressWarnings("unchecked")
+    ChainBatch(ChainPlan chainPlan, int contextCount, BiConsumer<Integer, List<Runnable>> batchNodeExecutor) {
+        this.contextCount = contextCount;
+        this.batchNodeExecutor = batchNodeExecutor;
+        this.remainingCount = new AtomicInteger(contextCount);
+        this.processResults = new ProcessResult[contextCount];
+        this.maxBatchSizes = new int[chainPlan.getNodeCount()];
+        this.waitingTasks = new List[chainPlan.getNodeCount()];
+        for (int i = 0; i < chainPlan.getNodeCount(); i++) {
+            AbstractNode<?> node = chainPlan.getChainNodes()[i].getNode();
+            if (node instanceof AbstractBatchNode) {
+                maxBatchSizes[i] = Math.max(1, ((AbstractBatchNode<?>) node).getMaxBatchSize());
+                waitingTasks[i] = new ArrayList<>();
+            }
+        }
+        if (contextCount == 0) {
+            completedFuture.complete(new ArrayList<>());
+        }
+    }
+
+    /**
+     * 是否批量节点
+     *
+     * @param nodeId nodeId
+     * @return 是否批量节点
+     */
+    boolean isBatchNode(int nodeId) {
+        return maxBatchSizes[nodeId] > 0;
+    }
+
+    /**
+     * 领取下一个开始执行的上下文
+     *
+     * @return 上下文下标，已全部开始时返回-1
+     */
+    int nextIndex() {
+        int index = nextIndex.getAndIncrement();
+        return index < contextCount ? index : -1;
+    }
+
+    /**
+     * 上下文开始执行
+     *
+     * @param chainParam chainParam
+     */
+    synchronized void start(ChainParam<T> chainParam) {
+        runningChainParams.add(chainParam);
+    }
+
+    /**
+     * 上下文执行结束，不会再到达的批量节点重新判断是否可以执行
+     *
+     * @param chainParam chainParam
+     */
+    void end(ChainParam<T> chainParam) {
+        synchronized (this) {
+            runningChainParams.remove(chainParam);
+        }
+
+        for (int i = 0; i < maxBatchSizes.length; i++) {
+            if (isBatchNode(i)) {
+                tryExecute(i);
+            }
+        }
+    }
+
+    /**
+     * 上下文到达批量节点，节点任务为null表示该节点已结束，不需要执行
+     *
+     * @param nodeId nodeId
+     * @param task   task
+     */
+    void arrive(int nodeId, Runnable task) {
+        if (Objects.nonNull(task)) {
+            synchronized (this) {
+                waitingTasks[nodeId].add(task);
+            }
+        }
+        tryExecute(nodeId);
+    }
+
+    /**
+     * 记录结果，全部完成时按输入顺序完成
+     *
+     * @param index         上下文下标
+     * @param processResult processResult
+     */
+    void complete(int index, ProcessResult<T> processResult) {
+        processResults[index] = processResult;
+        if (remainingCount.decrementAndGet() == 0) {
+            completedFuture.complete(new ArrayList<>(Arrays.asList(processResults)));
+        }
+    }
+
+    CompletableFuture<List<ProcessResult<T>>> getCompletedFuture() {
+        return completedFuture;
+    }
+
+    /**
+     * 所有执行中的上下文都已到达或越过该节点，或等待数量达到最大批量时执行
+     *
+     * @param nodeId nodeId
+     */
+    private void tryExecute(int nodeId) {
+        List<Runnable> tasks;
+        synchronized (this) {
+            tasks = waitingTasks[nodeId];
+            if (tasks.isEmpty()) {
+                return;
+            }
+
+            if (tasks.size() < maxBatchSizes[nodeId]) {
+                for (ChainParam<T> chainParam : runningChainParams) {
+                    int nodeStatus = chainParam.getNodeStatuses().get(nodeId);
+                    if (ChainParam.NodeStatusEnum.NOT_STARTED.getCode() == nodeStatus || ChainParam.NodeStatusEnum.RETRYING.getCode() == nodeStatus) {
+                        return;
+                    }
+                }
+            }
+
+            waitingTasks[nodeId] = new ArrayList<>();
+        }
+
+        batchNodeExecutor.accept(nodeId, tasks);
+    }
+
+}
@@ -1,8 +1,14 @@
 package cc.jinhx.easytool.process.chain;
 
+import cc.jinhx.easytool.process.CallerUtil;
 import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.node.StreamChannel;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
@@ -10,6 +16,9 @@ import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 链路上下文
@@ -23,6 +32,11 @@ public class ChainContext<T> implements Serializable {
 
     private static final long serialVersionUID = -4351960350192549045L;
 
+    /**
+     * 全局调用方法获取方式
+     */
+    private static volatile CallSiteModeEnum callSiteMode = CallSiteModeEnum.CAPTURE;
+
     /**
      * 上下文信息
      */
@@ -34,9 +48,64 @@ public class ChainContext<T> implements Serializable {
     protected String logStr;
 
     /**
-     * 节点耗时map
+     * 最近一次执行的节点时间线
+     */
+    @Setter(AccessLevel.NONE)
+    protected volatile NodeTimeline nodeTimeline;
+
+    /**
+     * 最近一次执行是否已取消，链路超时或中断后为true，耗时较长的节点可据此提前结束
+     */
+    @Setter(AccessLevel.NONE)
+    protected volatile boolean cancelled;
+
+    /**
+     * 本次执行是否打印日志，由链路日志策略在开始执行时决定
      */
-    protected Map<Class<? extends AbstractNode>, Long> nodeTimeMap = new HashMap<>();
+    @Setter(AccessLevel.NONE)
+    protected boolean logEnabled = true;
+
+    /**
+     * 最近一次执行的链路截止时间，System.nanoTime，为开始执行时间加链路超时时间
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected volatile long deadline;
+
+    /**
+     * 最近一次执行的流式节点输出通道，key为数据源节点，没有流式节点时为null
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected transient volatile Map<Class<? extends AbstractNode>, StreamChannel<?>> streamChannels;
+
+    /**
+     * 最近一次执行的流式节点并行处理使用的线程池，会设置线程上下文
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected transient volatile Executor streamExecutor;
+
+    /**
+     * 最近一次执行的链路，并行节点据此记录分片耗时
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected transient volatile Class<? extends AbstractChain> chainClass;
+
+    /**
+     * 最近一次执行是否开启监控
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected transient volatile boolean monitorEnabled;
+
+    /**
+     * 最近一次执行的并行节点分片使用的链路线程池，会设置线程上下文
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected transient volatile Executor parallelExecutor;
 
 
     private ChainContext(T contextInfo, String logStr) {
@@ -55,19 +124,72 @@ public class ChainContext<T> implements Serializable {
      * @return ChainContext
      */
     public static <T> ChainContext<T> create(@NonNull T contextInfo, @NonNull String logStr) {
-        return new ChainContext<>(contextInfo, logStr + " method [" + Thread.currentThread().getStackTrace()[2].getMethodName() + "]");
+        return new ChainContext<>(contextInfo, buildLogStr(logStr, captureMethodName()));
     }
 
     public static <T> ChainContext<T> create(@NonNull Class<T> clazz) {
-        return new ChainContext<>(createChainContext(clazz), "method [" + Thread.currentThread().getStackTrace()[2].getMethodName() + "]");
+        return new ChainContext<>(createChainContext(clazz), buildLogStr(null, captureMethodName()));
     }
 
     public static <T> ChainContext<T> create(@NonNull T contextInfo) {
-        return new ChainContext<>(contextInfo, "method [" + Thread.currentThread().getStackTrace()[2].getMethodName() + "]");
+        return new ChainContext<>(contextInfo, buildLogStr(null, captureMethodName()));
     }
 
     public static <T> ChainContext<T> create(@NonNull Class<T> clazz, @NonNull String logStr) {
-        return new ChainContext<>(createChainContext(clazz), logStr + " method [" + Thread.currentThread().getStackTrace()[2].getMethodName() + "]");
+        return new ChainContext<>(createChainContext(clazz), buildLogStr(logStr, captureMethodName()));
+    }
+
+    /**
+     * 初始化数据，由调用方传入方法名，不获取调用栈
+     *
+     * @param contextInfo contextInfo
+     * @param logStr      logStr
+     * @param methodName  methodName
+     * @return ChainContext
+     */
+    public static <T> ChainContext<T> create(@NonNull T contextInfo, @NonNull String logStr, @NonNull String methodName) {
+        return new ChainContext<>(contextInfo, buildLogStr(logStr, methodName));
+    }
+
+    public static <T> ChainContext<T> create(@NonNull Class<T> clazz, @NonNull String logStr, @NonNull String methodName) {
+        return new ChainContext<>(createChainContext(clazz), buildLogStr(logStr, methodName));
+    }
+
+    /**
+     * 设置全局调用方法获取方式
+     *
+     * @param callSiteMode callSiteMode
+     */
+    public static void setCallSiteMode(@NonNull CallSiteModeEnum callSiteMode) {
+        ChainContext.callSiteMode = callSiteMode;
+    }
+
+    public static CallSiteModeEnum getCallSiteMode() {
+        return callSiteMode;
+    }
+
+    /**
+     * 获取调用create的方法名，关闭时返回null
+     *
+     * @return 方法名
+     */
+    private static String captureMethodName() {
+        return CallSiteModeEnum.DISABLED == callSiteMode ? null : CallerUtil.getCallerMethodName(ChainContext.class);
+    }
+
+    /**
+     * 拼接日志，方法名为空时不拼接
+     *
+     * @param logStr     logStr
+     * @param methodName methodName
+     * @return 日志
+     */
+    private static String buildLogStr(String logStr, String methodName) {
+        if (Objects.isNull(methodName)) {
+            return Objects.isNull(logStr) ? "" : logStr;
+        }
+
+        return Objects.isNull(logStr) ? "method [" + methodName + "]" : logStr + " method [" + methodName + "]";
     }
 
     /**
@@ -83,6 +205,160 @@ public class ChainContext<T> implements Serializable {
         }
     }
 
+    /**
+     * 获取最近一次执行已结束节点的耗时，单位毫秒，由节点时间线生成，修改不影响时间线
+     *
+     * @return Map<Class < ? extends AbstractNode>, Long>
+     */
+    public Map<Class<? extends AbstractNode>, Long> getNodeTimeMap() {
+        NodeTimeline currentNodeTimeline = nodeTimeline;
+        if (Objects.isNull(currentNodeTimeline)) {
+            return new HashMap<>();
+        }
+
+        Map<Class<? extends AbstractNode>, Long> nodeTimeMap = new HashMap<>();
+        currentNodeTimeline.getNodeTimes().forEach(nodeTime -> {
+            if (nodeTime.getRunTime() >= 0) {
+                nodeTimeMap.put(nodeTime.getNodeClass(), TimeUnit.NANOSECONDS.toMillis(nodeTime.getRunTime()));
+            }
+        });
+        return nodeTimeMap;
+    }
+
+    /**
+     * 节点耗时改为由节点时间线生成，设置不再生效，保留用于兼容
+     *
+     * @param nodeTimeMap nodeTimeMap
+     * @deprecated 节点耗时由链路执行时记录，通过{@link #getNodeTimeMap()}或{@link #getNodeTimeline()}获取
+     */
+    @Deprecated
+    public void setNodeTimeMap(Map<Class<? extends AbstractNode>, Long> nodeTimeMap) {
+    }
+
+    /**
+     * 获取链路剩余时间，单位毫秒，节点可据此设置下游调用的超时时间，已超过截止时间返回0
+     * <p>
+     * 不按getter命名，不会被序列化到日志
+     *
+     * @return 链路剩余时间，单位毫秒
+     */
+    public long remainingTime() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * 获取最近一次执行的流式节点并行处理使用的线程池，供流式节点使用
+     *
+     * @return 线程池，没有流式节点时返回null
+     */
+    public Executor streamExecutor() {
+        return streamExecutor;
+    }
+
+    /**
+     * 获取最近一次执行的链路，供并行节点使用
+     *
+     * @return 链路，没有并行节点时返回null
+     */
+    public Class<? extends AbstractChain> chainClass() {
+        return chainClass;
+    }
+
+    /**
+     * 获取最近一次执行是否开启监控，供并行节点使用
+     *
+     * @return 是否开启监控
+     */
+    public boolean monitorEnabled() {
+        return monitorEnabled;
+    }
+
+    /**
+     * 获取最近一次执行的并行节点分片使用的链路线程池，供并行节点使用
+     *
+     * @return 线程池，没有并行节点时返回null
+     */
+    public Executor parallelExecutor() {
+        return parallelExecutor;
+    }
+
+    /**
+     * 获取流式节点的输出通道
+     *
+     * @param nodeClass 数据源节点
+     * @return 输出通道，没有下游流式节点时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <E> StreamChannel<E> getStreamChannel(Class<? extends AbstractNode> nodeClass) {
+        Map<Class<? extends AbstractNode>, StreamChannel<?>> currentStreamChannels = streamChannels;
+        return Objects.isNull(currentStreamChannels) ? null : (StreamChannel<E>) currentStreamChannels.get(nodeClass);
+    }
+
+    /**
+     * 设置本次执行的节点时间线
+     *
+     * @param nodeTimeline nodeTimeline
+     */
+    void setNodeTimeline(NodeTimeline nodeTimeline) {
+        this.nodeTimeline = nodeTimeline;
+    }
+
+    /**
+     * 设置本次执行的链路截止时间
+     *
+     * @param deadline 链路截止时间，System.nanoTime
+     */
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * 设置本次执行的流式节点输出通道和并行处理使用的线程池
+     *
+     * @param streamChannels streamChannels
+     * @param streamExecutor streamExecutor
+     */
+    void setStream(Map<Class<? extends AbstractNode>, StreamChannel<?>> streamChannels, Executor streamExecutor) {
+        this.streamChannels = streamChannels;
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * 设置本次执行的链路、是否开启监控和并行节点分片使用的线程池
+     *
+     * @param chainClass       chainClass
+     * @param monitorEnabled   monitorEnabled
+     * @param parallelExecutor parallelExecutor
+     */
+    void setParallel(Class<? extends AbstractChain> chainClass, boolean monitorEnabled, Executor parallelExecutor) {
+        this.chainClass = chainClass;
+        this.monitorEnabled = monitorEnabled;
+        this.parallelExecutor = parallelExecutor;
+    }
+
+    /**
+     * 设置本次执行是否打印日志
+     *
+     * @param logEnabled logEnabled
+     */
+    void setLogEnabled(boolean logEnabled) {
+        this.logEnabled = logEnabled;
+    }
+
+    /**
+     * 标记已取消
+     */
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 清除取消标记，复用的上下文不带上一次执行的取消状态
+     */
+    void clearCancelled() {
+        this.cancelled = false;
+    }
+
     /**
      * 反射创建对象
      *
@@ -101,4 +377,18 @@ public class ChainContext<T> implements Serializable {
         }
     }
 
-}
\ No newline at end of file
+
+    @AllArgsConstructor
+    @Getter
+    public enum CallSiteModeEnum {
+
+        CAPTURE(1, "获取调用方法名，Java 9及以上只遍历一个栈帧"),
+        DISABLED(2, "不获取调用方法名，只使用调用方传入的方法名"),
+        ;
+
+        private final int code;
+        private final String msg;
+
+    }
+
+}
@@ -4,6 +4,8 @@ import cc.jinhx.easytool.process.ProcessResult;
 import cc.jinhx.easytool.process.SpringUtil;
 import lombok.NonNull;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
@@ -63,4 +65,77 @@ public class ChainHandler {
         return SpringUtil.getBean(nodeClass).execute(chainContext, getResultData, executorService);
     }
 
+    /**
+     * 异步执行当前链路，使用默认配置的线程池
+     *
+     * @param nodeClass    nodeClass
+     * @param chainContext chainContext
+     * @return CompletableFuture
+     */
+    public static <T> CompletableFuture<ProcessResult<T>> executeAsync(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull ChainContext<T> chainContext) {
+        return SpringUtil.getBean(nodeClass).executeAsync(chainContext);
+    }
+
+    /**
+     * 异步执行当前链路，使用默认配置的线程池
+     *
+     * @param nodeClass     nodeClass
+     * @param chainContext  chainContext
+     * @param getResultData getResultData
+     * @return CompletableFuture
+     */
+    public static <T, R> CompletableFuture<ProcessResult<R>> executeAsync(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull ChainContext<T> chainContext, Function<T, R> getResultData) {
+        return SpringUtil.getBean(nodeClass).executeAsync(chainContext, getResultData);
+    }
+
+    /**
+     * 异步执行当前链路，指定线程池
+     *
+     * @param nodeClass       nodeClass
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     * @return CompletableFuture
+     */
+    public static <T> CompletableFuture<ProcessResult<T>> executeAsync(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull ChainContext<T> chainContext, @NonNull ExecutorService executorService) {
+        return SpringUtil.getBean(nodeClass).executeAsync(chainContext, executorService);
+    }
+
+    /**
+     * 异步执行当前链路，指定线程池
+     *
+     * @param nodeClass       nodeClass
+     * @param chainContext    chainContext
+     * @param getResultData   getResultData
+     * @param executorService executorService
+     * @return CompletableFuture
+     */
+    public static <T, R> CompletableFuture<ProcessResult<R>> executeAsync(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull ChainContext<T> chainContext, Function<T, R> getResultData, @NonNull ExecutorService executorService) {
+        return SpringUtil.getBean(nodeClass).executeAsync(chainContext, getResultData, executorService);
+    }
+
+    /**
+     * 批量执行当前链路，使用默认配置的线程池，阻塞到全部完成
+     *
+     * @param nodeClass     nodeClass
+     * @param chainContexts chainContexts
+     * @param parallelism   同时执行的上下文数量上限
+     * @return 按输入顺序的结果
+     */
+    public static <T> List<ProcessResult<T>> executeAll(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull List<ChainContext<T>> chainContexts, int parallelism) {
+        return SpringUtil.getBean(nodeClass).executeAll(chainContexts, parallelism);
+    }
+
+    /**
+     * 批量执行当前链路，指定线程池，阻塞到全部完成
+     *
+     * @param nodeClass       nodeClass
+     * @param chainContexts   chainContexts
+     * @param parallelism     同时执行的上下文数量上限
+     * @param executorService executorService
+     * @return 按输入顺序的结果
+     */
+    public static <T> List<ProcessResult<T>> executeAll(@NonNull Class<? extends AbstractChain> nodeClass, @NonNull List<ChainContext<T>> chainContexts, int parallelism, @NonNull ExecutorService executorService) {
+        return SpringUtil.getBean(nodeClass).executeAll(chainContexts, parallelism, executorService);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 链路日志策略
+ * <p>
+ * 不打印的日志不会拼接字符串，也不会序列化上下文和结果。慢链路和失败链路模式在链路开始时无法判断，
+ * 执行过程中不打印，结束时满足条件才打印一条包含上下文、结果和耗时的汇总日志
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Getter
+public class ChainLogPolicy {
+
+    private static final ChainLogPolicy ALL = new ChainLogPolicy(LogModeEnum.ALL, 1D, 0L);
+
+    private static final ChainLogPolicy OFF = new ChainLogPolicy(LogModeEnum.OFF, 0D, 0L);
+
+    private static final ChainLogPolicy ERROR = new ChainLogPolicy(LogModeEnum.ERROR, 0D, 0L);
+
+    /**
+     * 日志模式
+     */
+    private final LogModeEnum logMode;
+
+    /**
+     * 采样比例，0到1
+     */
+    private final double sampleRate;
+
+    /**
+     * 慢链路阈值，单位毫秒
+     */
+    private final long slowThreshold;
+
+
+    private ChainLogPolicy(LogModeEnum logMode, double sampleRate, long slowThreshold) {
+        this.logMode = logMode;
+        this.sampleRate = sampleRate;
+        this.slowThreshold = slowThreshold;
+    }
+
+    /**
+     * 打印全部日志
+     */
+    public static ChainLogPolicy all() {
+        return ALL;
+    }
+
+    /**
+     * 不打印日志
+     */
+    public static ChainLogPolicy off() {
+        return OFF;
+    }
+
+    /**
+     * 按比例采样，采中的执行打印全部日志
+     *
+     * @param sampleRate 采样比例，0到1
+     */
+    public static ChainLogPolicy sampled(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        return new ChainLogPolicy(LogModeEnum.SAMPLED, sampleRate, 0L);
+    }
+
+    /**
+     * 只打印耗时达到阈值的链路
+     *
+     * @param slowThreshold 慢链路阈值，单位毫秒
+     */
+    public static ChainLogPolicy slow(long slowThreshold) {
+        if (slowThreshold < 0) {
+            throw new IllegalArgumentException("slowThreshold must be greater than or equal to 0");
+        }
+        return new ChainLogPolicy(LogModeEnum.SLOW, 0D, slowThreshold);
+    }
+
+    /**
+     * 只打印失败的链路
+     */
+    public static ChainLogPolicy error() {
+        return ERROR;
+    }
+
+    /**
+     * 链路开始时判断本次执行是否打印全部日志
+     *
+     * @return 是否打印全部日志
+     */
+    public boolean isLogAll() {
+        switch (logMode) {
+            case ALL:
+                return true;
+            case SAMPLED:
+                return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 链路结束时判断未打印全部日志的执行是否打印汇总日志
+     *
+     * @param isSuccess 是否成功
+     * @param time      链路耗时，单位毫秒
+     * @return 是否打印汇总日志
+     */
+    public boolean isLogEnd(boolean isSuccess, long time) {
+        switch (logMode) {
+            case SLOW:
+                return time >= slowThreshold;
+            case ERROR:
+                return !isSuccess;
+            default:
+                return false;
+        }
+    }
+
+
+    @AllArgsConstructor
+    @Getter
+    public enum LogModeEnum {
+
+        ALL(1, "全部打印"),
+        OFF(2, "不打印"),
+        SAMPLED(3, "按比例采样"),
+        SLOW(4, "只打印慢链路"),
+        ERROR(5, "只打印失败链路"),
+        ;
+
+        private final int code;
+        private final String msg;
+
+    }
+
+}
@@ -39,7 +39,7 @@ public class ChainNode {
     private FailHandleEnum failHandle;
 
     /**
-     * 获取节点执行超时时间
+     * 获取节点执行超时时间，单位毫秒，可以使用AdaptiveNodeTimeout根据节点最近耗时自动调整
      */
     private LongSupplier getNodeTimeout;
 
@@ -48,6 +48,26 @@ public class ChainNode {
      */
     private RetryTimesEnum retryTimes;
 
+    /**
+     * 获取对冲延迟时间，单位毫秒，节点超过该时间未完成则再提交一个副本，只有对冲节点有值
+     */
+    private LongSupplier getHedgeDelay;
+
+    /**
+     * 节点舱壁，限制节点并发数量，可指定独立线程池，为null时不限制
+     */
+    private NodeBulkhead bulkhead;
+
+    /**
+     * 节点熔断器，为null时不熔断
+     */
+    private NodeCircuitBreaker circuitBreaker;
+
+    /**
+     * 重试策略，只有重试节点生效，为null时失败后立即重试
+     */
+    private RetryPolicy retryPolicy;
+
 
     /**
      * 获取默认节点超时时间，单位毫秒
@@ -68,17 +88,55 @@ public class ChainNode {
      * @return ChainNode
      */
     public static ChainNode create(AbstractNode node, FailHandleEnum failHandle, LongSupplier getNodeTimeout, RetryTimesEnum retryTimes) {
-        ChainNode chainNode = new ChainNode(node, FailHandleEnum.INTERRUPT, ChainNode::getDefaultNodeTimeout, RetryTimesEnum.ONE);
+        return create(node, failHandle, getNodeTimeout, retryTimes, null);
+    }
+
+    /**
+     * 创建链路节点
+     *
+     * @param node           node
+     * @param failHandle     failHandle
+     * @param getNodeTimeout getNodeTimeout
+     * @param retryTimes     retryTimes
+     * @param getHedgeDelay  getHedgeDelay
+     * @return ChainNode
+     */
+    public static ChainNode create(AbstractNode node, FailHandleEnum failHandle, LongSupplier getNodeTimeout, RetryTimesEnum retryTimes, LongSupplier getHedgeDelay) {
+        return create(node, failHandle, getNodeTimeout, retryTimes, getHedgeDelay, null);
+    }
+
+    /**
+     * 创建链路节点
+     *
+     * @param node           node
+     * @param failHandle     failHandle
+     * @param getNodeTimeout getNodeTimeout
+     * @param retryTimes     retryTimes
+     * @param getHedgeDelay  getHedgeDelay
+     * @param bulkhead       bulkhead
+     * @return ChainNode
+     */
+    public static ChainNode create(AbstractNode node, FailHandleEnum failHandle, LongSupplier getNodeTimeout, RetryTimesEnum retryTimes, LongSupplier getHedgeDelay,
+                                   NodeBulkhead bulkhead) {
+        ChainNode chainNode = new ChainNode(node, FailHandleEnum.INTERRUPT, ChainNode::getDefaultNodeTimeout, RetryTimesEnum.ONE, null, bulkhead, null, null);
 
         if (Objects.nonNull(failHandle)) {
             chainNode.setFailHandle(failHandle);
         }
-        if (Objects.nonNull(getNodeTimeout)) {
+        if (getNodeTimeout instanceof AdaptiveNodeTimeout) {
+            // 多个节点可能共用同一个配置，每个节点独立统计
+            chainNode.setGetNodeTimeout(((AdaptiveNodeTimeout) getNodeTimeout).copy());
+        } else if (Objects.nonNull(getNodeTimeout)) {
             chainNode.setGetNodeTimeout(getNodeTimeout);
         }
         if (Objects.nonNull(retryTimes)) {
             chainNode.setRetryTimes(retryTimes);
         }
+        if (getHedgeDelay instanceof AdaptiveNodeTimeout) {
+            chainNode.setGetHedgeDelay(((AdaptiveNodeTimeout) getHedgeDelay).copy());
+        } else if (Objects.nonNull(getHedgeDelay)) {
+            chainNode.setGetHedgeDelay(getHedgeDelay);
+        }
 
         return chainNode;
     }
@@ -91,6 +149,7 @@ public class ChainNode {
         INTERRUPT(1, "中断链路", new InterruptFailHandle()),
         ABANDON(2, "抛弃节点", new AbandonFailHandle()),
         RETRY(3, "重试节点", new RetryFailHandle()),
+        HEDGE(4, "对冲节点", new HedgeFailHandle()),
         ;
 
         private final int code;
@@ -1,7 +1,9 @@
 package cc.jinhx.easytool.process.chain;
 
 import cc.jinhx.easytool.process.ProcessResult;
-import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.ThreadUtil;
+import cc.jinhx.easytool.process.node.AbstractStreamNode;
+import cc.jinhx.easytool.process.node.StreamChannel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -10,8 +12,15 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
 /**
@@ -35,20 +44,80 @@ public class ChainParam<T> {
     private Set<AbstractThreadContextConfig> threadContextInitConfigSet;
 
     /**
-     * 所有节点状态
+     * 所有节点状态，下标为节点id
      */
-    private Map<Class<? extends AbstractNode>, Integer> nodeClassStatusMap;
+    private AtomicIntegerArray nodeStatuses;
 
     /**
-     * 所有节点重试次数
+     * 所有节点重试次数，下标为节点id
      */
-    private Map<Class<? extends AbstractNode>, Integer> nodeClassRetryCountMap;
+    private int[] nodeRetryCounts;
+
+    /**
+     * 所有节点剩余未完成的父节点数量，下标为节点id，减到0的父节点负责启动该节点
+     */
+    private AtomicIntegerArray remainingParentCounts;
+
+    /**
+     * 所有节点当前执行线程，下标为任务槽位，读写都需要持有该数组的锁
+     */
+    private Thread[] nodeThreads;
+
+    /**
+     * 所有节点当前提交的任务，下标为任务槽位，前nodeCount个为节点id，存在对冲节点时后nodeCount个为节点id对应的对冲副本
+     */
+    private Runnable[] nodeTasks;
+
+    /**
+     * 所有节点当前提交任务的future，下标为节点id
+     */
+    private CompletableFuture<Void>[] nodeFutures;
+
+    /**
+     * 所有节点舱壁，下标为节点id，未配置舱壁的节点为null
+     */
+    private NodeBulkhead[] nodeBulkheads;
+
+    /**
+     * 所有流式节点的输出通道，下标为节点id，没有下游流式节点的为null，链路没有流式节点时为null
+     */
+    private StreamChannel<?>[] streamChannels;
+
+    /**
+     * 下游流式节点是否已启动，下标为数据源节点id，链路没有流式节点时为null
+     */
+    private AtomicIntegerArray streamChildStarts;
+
+    /**
+     * 所有节点是否有上游或下游流式节点，下标为节点id，链路没有流式节点时为null
+     */
+    private boolean[] streamNodes;
+
+    /**
+     * 节点时间线
+     */
+    private NodeTimeline nodeTimeline;
+
+    /**
+     * 链路截止时间，System.nanoTime
+     */
+    private long deadline;
+
+    /**
+     * 批量执行状态，不是批量执行时为null
+     */
+    private ChainBatch<T> chainBatch;
 
     /**
      * 执行完节点计数器
      */
     private CountDownLatch completedNodeCountDownLatch;
 
+    /**
+     * 所有节点执行完成或链路中断时完成，供异步执行使用
+     */
+    private CompletableFuture<Void> completedFuture;
+
     /**
      * 结果
      */
@@ -69,6 +138,345 @@ public class ChainParam<T> {
      */
     private boolean isTimeoutFail;
 
+    /**
+     * 是否是超时后部分成功
+     */
+    private boolean isPartialSuccess;
+
+
+    /**
+     * 创建链路参数，所有节点状态为未开始
+     *
+     * @param chainPlan chainPlan
+     * @param startTime 链路开始时间，System.nanoTime
+     * @return ChainParam
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ChainParam<T> create(ChainPlan chainPlan, long startTime) {
+        int nodeCount = chainPlan.getNodeCount();
+        ChainParam<T> chainParam = new ChainParam<>();
+        chainParam.setNodeStatuses(new AtomicIntegerArray(nodeCount));
+        for (int i = 0; i < nodeCount; i++) {
+            chainParam.getNodeStatuses().lazySet(i, NodeStatusEnum.NOT_STARTED.getCode());
+        }
+        chainParam.setNodeRetryCounts(new int[nodeCount]);
+        chainParam.setRemainingParentCounts(new AtomicIntegerArray(chainPlan.getParentCounts()));
+        // 存在对冲节点时才分配对冲副本的任务槽位
+        int taskSlotCount = chainPlan.isHasHedgeNode() ? nodeCount * 2 : nodeCount;
+        chainParam.setNodeThreads(new Thread[taskSlotCount]);
+        chainParam.setNodeTasks(new Runnable[taskSlotCount]);
+        chainParam.setNodeFutures(new CompletableFuture[nodeCount]);
+        chainParam.setNodeBulkheads(chainPlan.getNodeBulkheads());
+        // 存在流式节点时才创建通道
+        if (chainPlan.isHasStreamNode()) {
+            StreamChannel<?>[] streamChannels = new StreamChannel[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                if (chainPlan.getStreamChildNodeIds()[i] >= 0) {
+                    streamChannels[i] = StreamChannel.create(((AbstractStreamNode<?, ?, ?>) chainPlan.getChainNodes()[i].getNode()).getChannelCapacity());
+                }
+            }
+            chainParam.setStreamChannels(streamChannels);
+            chainParam.setStreamChildStarts(new AtomicIntegerArray(nodeCount));
+            chainParam.setStreamNodes(chainPlan.getStreamNodes());
+        }
+        chainParam.setNodeTimeline(NodeTimeline.create(chainPlan, startTime));
+        chainParam.setCompletedNodeCountDownLatch(new CountDownLatch(nodeCount));
+        chainParam.setCompletedFuture(new CompletableFuture<>());
+        chainParam.setTimeoutFail(false);
+        chainParam.setBusinessFail(false);
+        chainParam.setPartialSuccess(false);
+        return chainParam;
+    }
+
+    /**
+     * 尝试将节点从可执行状态置为进行中，同一节点并发调用只有一个成功
+     *
+     * @param nodeId nodeId
+     * @return 是否成功
+     */
+    public boolean tryStartNode(int nodeId) {
+        return nodeStatuses.compareAndSet(nodeId, NodeStatusEnum.NOT_STARTED.getCode(), NodeStatusEnum.ONGOING.getCode())
+                || nodeStatuses.compareAndSet(nodeId, NodeStatusEnum.RETRYING.getCode(), NodeStatusEnum.ONGOING.getCode());
+    }
+
+    /**
+     * 尝试将节点从进行中置为已完成，并计数，同一节点并发调用只有一个成功
+     *
+     * @param nodeId nodeId
+     * @return 是否成功
+     */
+    public boolean tryCompleteNode(int nodeId) {
+        if (nodeStatuses.compareAndSet(nodeId, NodeStatusEnum.ONGOING.getCode(), NodeStatusEnum.COMPLETED.getCode())) {
+            completedNodeCountDownLatch.countDown();
+            if (completedNodeCountDownLatch.getCount() == 0) {
+                completedFuture.complete(null);
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 获取链路剩余时间，单位毫秒，已超过截止时间返回0
+     *
+     * @return 链路剩余时间，单位毫秒
+     */
+    public long getRemainingTime() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * 尝试将节点从进行中置为重试中
+     *
+     * @param nodeId nodeId
+     * @return 是否成功
+     */
+    public boolean tryRetryNode(int nodeId) {
+        return nodeStatuses.compareAndSet(nodeId, NodeStatusEnum.ONGOING.getCode(), NodeStatusEnum.RETRYING.getCode());
+    }
+
+    /**
+     * 尝试标记下游流式节点已启动，数据源开始执行或完成时调用，只有第一次成功
+     *
+     * @param nodeId 数据源节点id
+     * @return 是否成功
+     */
+    public boolean tryStartStreamChild(int nodeId) {
+        return streamChildStarts.compareAndSet(nodeId, 0, 1);
+    }
+
+    /**
+     * 父节点完成，子节点剩余父节点数量减1
+     *
+     * @param childNodeId childNodeId
+     * @return 是否所有父节点已完成
+     */
+    public boolean releaseParent(int childNodeId) {
+        return remainingParentCounts.decrementAndGet(childNodeId) == 0;
+    }
+
+    /**
+     * 记录节点提交的任务，覆盖上一次提交
+     *
+     * @param nodeId nodeId
+     * @param task   task
+     * @param future future
+     */
+    public void registerNodeTask(int nodeId, Runnable task, CompletableFuture<Void> future) {
+        synchronized (nodeThreads) {
+            nodeTasks[nodeId] = task;
+            nodeFutures[nodeId] = future;
+        }
+    }
+
+    /**
+     * 记录对冲副本任务，节点已不在进行中或主任务已被取消时不记录
+     *
+     * @param nodeId nodeId
+     * @param task   task
+     * @return 是否记录成功
+     */
+    public boolean registerHedgeNodeTask(int nodeId, Runnable task) {
+        synchronized (nodeThreads) {
+            if (Objects.isNull(nodeTasks[nodeId]) || NodeStatusEnum.ONGOING.getCode() != nodeStatuses.get(nodeId)) {
+                return false;
+            }
+
+            nodeTasks[getTaskSlot(nodeId, true)] = task;
+            return true;
+        }
+    }
+
+    /**
+     * 任务开始执行，记录执行线程，任务已被取消、被新任务覆盖或链路已中断时返回false
+     *
+     * @param nodeId  nodeId
+     * @param task    task
+     * @param isHedge 是否对冲副本
+     * @return 是否可以执行
+     */
+    public boolean startNodeTask(int nodeId, Runnable task, boolean isHedge) {
+        int taskSlot = getTaskSlot(nodeId, isHedge);
+        synchronized (nodeThreads) {
+            if (nodeTasks[taskSlot] != task || NodeStatusEnum.ONGOING.getCode() != nodeStatuses.get(nodeId)) {
+                return false;
+            }
+
+            nodeThreads[taskSlot] = Thread.currentThread();
+            return true;
+        }
+    }
+
+    /**
+     * 任务执行结束，清除执行线程，并清除取消时可能残留的中断标记，避免影响线程池后续任务
+     *
+     * @param nodeId  nodeId
+     * @param isHedge 是否对冲副本
+     * @return 执行期间是否未被取消
+     */
+    public boolean endNodeTask(int nodeId, boolean isHedge) {
+        int taskSlot = getTaskSlot(nodeId, isHedge);
+        boolean isOwner;
+        synchronized (nodeThreads) {
+            isOwner = nodeThreads[taskSlot] == Thread.currentThread();
+            if (isOwner) {
+                nodeThreads[taskSlot] = null;
+            }
+        }
+        Thread.interrupted();
+        return isOwner;
+    }
+
+    /**
+     * 取消节点，中断正在执行的线程，移除还在线程池队列中的任务，包括对冲副本
+     *
+     * @param nodeId          nodeId
+     * @param executorService executorService
+     */
+    public void cancelNode(int nodeId, ExecutorService executorService) {
+        CompletableFuture<Void> removedFuture = null;
+        synchronized (nodeThreads) {
+            if (cancelNodeTask(getTaskSlot(nodeId, false), executorService)) {
+                removedFuture = nodeFutures[nodeId];
+            }
+            nodeFutures[nodeId] = null;
+
+            if (nodeTasks.length > nodeFutures.length) {
+                cancelNodeTask(getTaskSlot(nodeId, true), executorService);
+            }
+        }
+
+        // 移除的任务不会再执行，在锁外完成future，释放超时定时
+        if (removedFuture != null) {
+            removedFuture.complete(null);
+        }
+    }
+
+    /**
+     * 取消对冲节点落后的副本，不完成节点future
+     *
+     * @param nodeId          nodeId
+     * @param isHedge         是否取消对冲副本，否则取消主任务
+     * @param executorService executorService
+     */
+    public void cancelHedgeLoser(int nodeId, boolean isHedge, ExecutorService executorService) {
+        synchronized (nodeThreads) {
+            cancelNodeTask(getTaskSlot(nodeId, isHedge), executorService);
+        }
+    }
+
+    /**
+     * 获取节点任务提交的线程池，节点舱壁指定了独立线程池则使用独立线程池
+     *
+     * @param nodeId          nodeId
+     * @param executorService 链路线程池
+     * @return ExecutorService
+     */
+    public ExecutorService getNodeExecutorService(int nodeId, ExecutorService executorService) {
+        NodeBulkhead bulkhead = nodeBulkheads[nodeId];
+        if (Objects.nonNull(bulkhead) && Objects.nonNull(bulkhead.getExecutorService())) {
+            return bulkhead.getExecutorService();
+        }
+        // 流式节点阻塞在通道上时一直占用线程，使用不排队的流式节点线程池，避免下游排在上游后面无法执行
+        return Objects.nonNull(streamNodes) && streamNodes[nodeId] ? ThreadUtil.getStreamChainThreadPool() : executorService;
+    }
+
+    /**
+     * 尝试获取节点舱壁许可，未配置舱壁时总是成功
+     *
+     * @param nodeId nodeId
+     * @return 是否获取成功
+     */
+    public boolean tryAcquireNodeBulkhead(int nodeId) {
+        NodeBulkhead bulkhead = nodeBulkheads[nodeId];
+        return Objects.isNull(bulkhead) || bulkhead.tryAcquire();
+    }
+
+    /**
+     * 释放节点舱壁许可，每次获取成功只能释放一次
+     *
+     * @param nodeId nodeId
+     */
+    public void releaseNodeBulkhead(int nodeId) {
+        NodeBulkhead bulkhead = nodeBulkheads[nodeId];
+        if (Objects.nonNull(bulkhead)) {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 取消任务槽位上的任务，需持有nodeThreads的锁，从队列中移除的任务不会再执行，由这里释放舱壁许可
+     *
+     * @param taskSlot        taskSlot
+     * @param executorService executorService
+     * @return 是否从线程池队列中移除
+     */
+    private boolean cancelNodeTask(int taskSlot, ExecutorService executorService) {
+        Thread thread = nodeThreads[taskSlot];
+        if (thread != null) {
+            thread.interrupt();
+            nodeThreads[taskSlot] = null;
+        }
+
+        Runnable task = nodeTasks[taskSlot];
+        if (task == null) {
+            return false;
+        }
+
+        nodeTasks[taskSlot] = null;
+        // 只有ThreadPoolExecutor能从队列中移除，其他线程池由任务开始时自行跳过
+        int nodeId = taskSlot % nodeFutures.length;
+        ExecutorService nodeExecutorService = getNodeExecutorService(nodeId, executorService);
+        if (nodeExecutorService instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) nodeExecutorService).remove(task)) {
+            releaseNodeBulkhead(nodeId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 获取任务槽位
+     *
+     * @param nodeId  nodeId
+     * @param isHedge 是否对冲副本
+     * @return 任务槽位
+     */
+    private int getTaskSlot(int nodeId, boolean isHedge) {
+        return isHedge ? nodeFutures.length + nodeId : nodeId;
+    }
+
+    /**
+     * 中断链路，所有节点置为已完成，标记上下文已取消，取消所有执行中和排队中的节点，最后清空计数器
+     *
+     * @param chainContext    chainContext
+     * @param executorService executorService
+     */
+    public void interrupt(ChainContext<T> chainContext, ExecutorService executorService) {
+        for (int i = 0; i < nodeStatuses.length(); i++) {
+            nodeStatuses.set(i, NodeStatusEnum.COMPLETED.getCode());
+        }
+
+        chainContext.cancel();
+        for (int i = 0; i < nodeStatuses.length(); i++) {
+            cancelNode(i, executorService);
+        }
+
+        // 唤醒阻塞在通道上的流式节点辅助线程
+        if (Objects.nonNull(streamChannels)) {
+            for (StreamChannel<?> streamChannel : streamChannels) {
+                if (Objects.nonNull(streamChannel)) {
+                    streamChannel.fail(new CancellationException("chain interrupted"));
+                }
+            }
+        }
+
+        while (completedNodeCountDownLatch.getCount() > 0) {
+            completedNodeCountDownLatch.countDown();
+        }
+        completedFuture.complete(null);
+    }
+
 
     @AllArgsConstructor
     @Getter
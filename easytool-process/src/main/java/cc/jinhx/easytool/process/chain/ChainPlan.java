@@ -0,0 +1,310 @@
+package cc.jinhx.easytool.process.chain;
+
+import cc.jinhx.easytool.process.ProcessException;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.node.AbstractParallelMapNode;
+import cc.jinhx.easytool.process.node.AbstractStreamNode;
+import cc.jinhx.easytool.process.node.AbstractStreamProcessorNode;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * 链路执行计划，链路初始化完成后编译一次，不可变
+ * <p>
+ * 节点按拓扑顺序分配从0开始的整数id，执行时只通过id访问数组，避免按class查找map
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Getter
+public class ChainPlan {
+
+    /**
+     * 节点数量
+     */
+    private final int nodeCount;
+
+    /**
+     * 节点id -> 节点class
+     */
+    private final Class<? extends AbstractNode>[] nodeClasses;
+
+    /**
+     * 节点id -> 链路节点
+     */
+    private final ChainNode[] chainNodes;
+
+    /**
+     * 节点id -> 父节点id数组
+     */
+    private final int[][] parentNodeIds;
+
+    /**
+     * 节点id -> 子节点id数组
+     */
+    private final int[][] childNodeIds;
+
+    /**
+     * 节点id -> 父节点数量
+     */
+    private final int[] parentCounts;
+
+    /**
+     * 节点id -> 自适应节点超时时间，固定超时时间的节点为null
+     */
+    private final AdaptiveNodeTimeout[] adaptiveNodeTimeouts;
+
+    /**
+     * 节点id -> 自适应对冲延迟时间，非对冲节点和固定延迟时间的节点为null
+     */
+    private final AdaptiveNodeTimeout[] adaptiveHedgeDelays;
+
+    /**
+     * 节点id -> 节点舱壁，未配置舱壁的节点为null
+     */
+    private final NodeBulkhead[] nodeBulkheads;
+
+    /**
+     * 节点id -> 节点熔断器，未配置熔断器的节点为null
+     */
+    private final NodeCircuitBreaker[] nodeCircuitBreakers;
+
+    /**
+     * 是否存在对冲节点
+     */
+    private final boolean hasHedgeNode;
+
+    /**
+     * 是否存在并行节点
+     */
+    private final boolean hasParallelMapNode;
+
+    /**
+     * 节点id -> 数据源节点id，非流式处理节点为-1
+     */
+    private final int[] streamSourceNodeIds;
+
+    /**
+     * 节点id -> 下游流式节点id，没有下游流式节点为-1，下游流式节点在该节点开始执行时启动，不在子节点id数组中
+     */
+    private final int[] streamChildNodeIds;
+
+    /**
+     * 节点id -> 是否有上游或下游流式节点，这些节点在流式节点线程池上执行
+     */
+    private final boolean[] streamNodes;
+
+    /**
+     * 是否存在流式节点之间的数据传递
+     */
+    private final boolean hasStreamNode;
+
+    /**
+     * 首节点id数组
+     */
+    private final int[] firstNodeIds;
+
+    /**
+     * 节点class -> 节点id，仅用于非执行路径的查询
+     */
+    private final Map<Class<? extends AbstractNode>, Integer> nodeIdMap;
+
+
+    private ChainPlan(Class<? extends AbstractNode>[] nodeClasses, ChainNode[] chainNodes, int[][] parentNodeIds, int[][] childNodeIds,
+                      int[] firstNodeIds, Map<Class<? extends AbstractNode>, Integer> nodeIdMap, int[] streamSourceNodeIds, int[] streamChildNodeIds) {
+        this.nodeCount = nodeClasses.length;
+        this.nodeClasses = nodeClasses;
+        this.chainNodes = chainNodes;
+        this.parentNodeIds = parentNodeIds;
+        this.childNodeIds = childNodeIds;
+        this.firstNodeIds = firstNodeIds;
+        this.nodeIdMap = nodeIdMap;
+        this.streamSourceNodeIds = streamSourceNodeIds;
+        this.streamChildNodeIds = streamChildNodeIds;
+        this.streamNodes = new boolean[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            streamNodes[i] = streamSourceNodeIds[i] >= 0 || streamChildNodeIds[i] >= 0;
+        }
+        this.hasStreamNode = Arrays.stream(streamSourceNodeIds).anyMatch(nodeId -> nodeId >= 0);
+        this.parentCounts = new int[nodeCount];
+        this.adaptiveNodeTimeouts = new AdaptiveNodeTimeout[nodeCount];
+        this.adaptiveHedgeDelays = new AdaptiveNodeTimeout[nodeCount];
+        this.nodeBulkheads = new NodeBulkhead[nodeCount];
+        this.nodeCircuitBreakers = new NodeCircuitBreaker[nodeCount];
+        boolean hasHedgeNode = false;
+        boolean hasParallelMapNode = false;
+        for (int i = 0; i < nodeCount; i++) {
+            parentCounts[i] = parentNodeIds[i].length;
+            if (chainNodes[i].getGetNodeTimeout() instanceof AdaptiveNodeTimeout) {
+                adaptiveNodeTimeouts[i] = (AdaptiveNodeTimeout) chainNodes[i].getGetNodeTimeout();
+            }
+            if (chainNodes[i].getGetHedgeDelay() instanceof AdaptiveNodeTimeout) {
+                adaptiveHedgeDelays[i] = (AdaptiveNodeTimeout) chainNodes[i].getGetHedgeDelay();
+            }
+            nodeBulkheads[i] = chainNodes[i].getBulkhead();
+            nodeCircuitBreakers[i] = chainNodes[i].getCircuitBreaker();
+            hasHedgeNode |= ChainNode.FailHandleEnum.HEDGE == chainNodes[i].getFailHandle();
+            hasParallelMapNode |= chainNodes[i].getNode() instanceof AbstractParallelMapNode;
+        }
+        this.hasHedgeNode = hasHedgeNode;
+        this.hasParallelMapNode = hasParallelMapNode;
+    }
+
+    /**
+     * 编译链路执行计划
+     *
+     * @param chainNodeMap       chainNodeMap
+     * @param parentNodeClassMap parentNodeClassMap
+     * @return ChainPlan
+     */
+    @SuppressWarnings("unchecked")
+    public static ChainPlan create(Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap,
+                                   Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> parentNodeClassMap) {
+        // 拓扑排序，入度为0的节点先分配id
+        Map<Class<? extends AbstractNode>, Integer> inDegreeMap = new HashMap<>();
+        Map<Class<? extends AbstractNode>, List<Class<? extends AbstractNode>>> childNodeClassMap = new HashMap<>();
+        chainNodeMap.keySet().forEach(nodeClass -> {
+            Set<Class<? extends AbstractNode>> parentNodeClassSet = parentNodeClassMap.get(nodeClass);
+            inDegreeMap.put(nodeClass, Objects.isNull(parentNodeClassSet) ? 0 : parentNodeClassSet.size());
+            if (Objects.nonNull(parentNodeClassSet)) {
+                parentNodeClassSet.forEach(parentNodeClass -> childNodeClassMap.computeIfAbsent(parentNodeClass, v -> new ArrayList<>()).add(nodeClass));
+            }
+        });
+
+        Deque<Class<? extends AbstractNode>> readyNodeClasses = new ArrayDeque<>();
+        inDegreeMap.forEach((nodeClass, inDegree) -> {
+            if (inDegree == 0) {
+                readyNodeClasses.add(nodeClass);
+            }
+        });
+
+        List<Class<? extends AbstractNode>> sortedNodeClasses = new ArrayList<>(chainNodeMap.size());
+        while (!readyNodeClasses.isEmpty()) {
+            Class<? extends AbstractNode> nodeClass = readyNodeClasses.poll();
+            sortedNodeClasses.add(nodeClass);
+            for (Class<? extends AbstractNode> childNodeClass : childNodeClassMap.getOrDefault(nodeClass, Collections.emptyList())) {
+                if (inDegreeMap.merge(childNodeClass, -1, Integer::sum) == 0) {
+                    readyNodeClasses.add(childNodeClass);
+                }
+            }
+        }
+
+        if (sortedNodeClasses.size() != chainNodeMap.size()) {
+            throw new ProcessException(ProcessException.MsgEnum.CHAIN_CYCLE.getMsg());
+        }
+
+        int nodeCount = sortedNodeClasses.size();
+        Map<Class<? extends AbstractNode>, Integer> nodeIdMap = new HashMap<>(nodeCount * 2);
+        Class<? extends AbstractNode>[] nodeClasses = new Class[nodeCount];
+        ChainNode[] chainNodes = new ChainNode[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodeClasses[i] = sortedNodeClasses.get(i);
+            chainNodes[i] = chainNodeMap.get(nodeClasses[i]);
+            nodeIdMap.put(nodeClasses[i], i);
+            checkParallelMapNode(chainNodes[i], nodeClasses[i]);
+        }
+
+        int[][] parentNodeIds = new int[nodeCount][];
+        int[][] childNodeIds = new int[nodeCount][];
+        List<Integer> firstNodeIdList = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            parentNodeIds[i] = toNodeIds(parentNodeClassMap.get(nodeClasses[i]), nodeIdMap);
+            childNodeIds[i] = toNodeIds(childNodeClassMap.get(nodeClasses[i]), nodeIdMap);
+            if (parentNodeIds[i].length == 0) {
+                firstNodeIdList.add(i);
+            }
+        }
+
+        // 流式节点的数据源不作为普通父节点启动子节点，改为在数据源开始执行时启动
+        int[] streamSourceNodeIds = new int[nodeCount];
+        int[] streamChildNodeIds = new int[nodeCount];
+        Arrays.fill(streamSourceNodeIds, -1);
+        Arrays.fill(streamChildNodeIds, -1);
+        for (int i = 0; i < nodeCount; i++) {
+            if (!(chainNodes[i].getNode() instanceof AbstractStreamNode)) {
+                continue;
+            }
+
+            checkStreamNode(chainNodes[i], nodeClasses[i]);
+            Class<? extends AbstractStreamNode> streamSourceNodeClass = ((AbstractStreamNode<?, ?, ?>) chainNodes[i].getNode()).getStreamSourceNode();
+            if (Objects.isNull(streamSourceNodeClass)) {
+                continue;
+            }
+
+            Integer streamSourceNodeId = nodeIdMap.get(streamSourceNodeClass);
+            if (Objects.isNull(streamSourceNodeId) || Arrays.stream(parentNodeIds[i]).noneMatch(nodeId -> nodeId == streamSourceNodeId)
+                    || !(chainNodes[streamSourceNodeId].getNode() instanceof AbstractStreamNode)) {
+                throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_SOURCE.getMsg() + "=" + nodeClasses[i].getSimpleName());
+            }
+            if (streamChildNodeIds[streamSourceNodeId] >= 0) {
+                throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_REPEAT.getMsg() + "=" + streamSourceNodeClass.getSimpleName());
+            }
+
+            int streamChildNodeId = i;
+            streamSourceNodeIds[i] = streamSourceNodeId;
+            streamChildNodeIds[streamSourceNodeId] = i;
+            childNodeIds[streamSourceNodeId] = Arrays.stream(childNodeIds[streamSourceNodeId]).filter(nodeId -> nodeId != streamChildNodeId).toArray();
+        }
+
+        return new ChainPlan(nodeClasses, chainNodes, parentNodeIds, childNodeIds, firstNodeIdList.stream().mapToInt(Integer::intValue).toArray(),
+                Collections.unmodifiableMap(nodeIdMap), streamSourceNodeIds, streamChildNodeIds);
+    }
+
+    /**
+     * 校验流式节点，流式节点执行中已发送的数据无法撤回，不支持重试和对冲，内联节点没有线程池线程，不支持内联，
+     * 处理节点必须有数据源节点
+     *
+     * @param chainNode chainNode
+     * @param nodeClass nodeClass
+     */
+    private static void checkStreamNode(ChainNode chainNode, Class<? extends AbstractNode> nodeClass) {
+        if (ChainNode.FailHandleEnum.RETRY == chainNode.getFailHandle() || ChainNode.FailHandleEnum.HEDGE == chainNode.getFailHandle()
+                || chainNode.getNode().isInline()) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_FAIL_HANDLE.getMsg() + "=" + nodeClass.getSimpleName());
+        }
+        if (chainNode.getNode() instanceof AbstractStreamProcessorNode
+                && Objects.isNull(((AbstractStreamProcessorNode<?, ?, ?>) chainNode.getNode()).getStreamSourceNode())) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_SOURCE.getMsg() + "=" + nodeClass.getSimpleName());
+        }
+    }
+
+    /**
+     * 校验并行节点，分片大小必须大于0
+     *
+     * @param chainNode chainNode
+     * @param nodeClass nodeClass
+     */
+    private static void checkParallelMapNode(ChainNode chainNode, Class<? extends AbstractNode> nodeClass) {
+        if (chainNode.getNode() instanceof AbstractParallelMapNode && ((AbstractParallelMapNode<?, ?, ?>) chainNode.getNode()).getChunkSize() <= 0) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_PARALLEL_CHUNK_SIZE.getMsg() + "=" + nodeClass.getSimpleName());
+        }
+    }
+
+    /**
+     * 获取节点id，不存在返回-1
+     *
+     * @param nodeClass nodeClass
+     * @return 节点id
+     */
+    public int getNodeId(Class<? extends AbstractNode> nodeClass) {
+        Integer nodeId = nodeIdMap.get(nodeClass);
+        return Objects.isNull(nodeId) ? -1 : nodeId;
+    }
+
+    /**
+     * 节点class集合转节点id数组，按id升序
+     *
+     * @param nodeClasses nodeClasses
+     * @param nodeIdMap   nodeIdMap
+     * @return 节点id数组
+     */
+    private static int[] toNodeIds(Collection<Class<? extends AbstractNode>> nodeClasses, Map<Class<? extends AbstractNode>, Integer> nodeIdMap) {
+        if (Objects.isNull(nodeClasses) || nodeClasses.isEmpty()) {
+            return new int[0];
+        }
+
+        return nodeClasses.stream().mapToInt(nodeIdMap::get).sorted().toArray();
+    }
+
+}
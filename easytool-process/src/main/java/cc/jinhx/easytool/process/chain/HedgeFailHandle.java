@@ -0,0 +1,21 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 对冲失败处理
+ * <p>
+ * 对冲节点超过对冲延迟时间未完成时再提交一个副本，先成功的副本完成节点并取消另一个。
+ * 只有所有已提交的副本都失败或节点超时才会进入失败处理，此时和中断失败处理一样中断链路
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Slf4j
+public class HedgeFailHandle extends InterruptFailHandle {
+
+}
@@ -8,10 +8,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -26,38 +25,35 @@ import java.util.concurrent.TimeoutException;
 public class InterruptFailHandle extends AbstractFailHandle {
 
     @Override
-    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, Class<? extends AbstractNode> nodeClass,
-                                    ChainParam<T> chainParam, Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap,
-                                    Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> childNodeClassMap,
-                                    AbstractChain chain, Throwable throwable, String logPrefix) {
-        StringBuffer logStr = new StringBuffer(logPrefix);
+    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId,
+                                    ChainParam<T> chainParam, ChainPlan chainPlan, AbstractChain chain, Throwable throwable, String logPrefix) {
+        StringBuffer logStr = Objects.isNull(logPrefix) ? null : new StringBuffer(logPrefix);
         try {
-            ChainNode chainNode = chainNodeMap.get(nodeClass);
-            String nodeName = nodeClass.getSimpleName();
+            ChainNode chainNode = chainPlan.getChainNodes()[nodeId];
+            String nodeName = chainPlan.getNodeClasses()[nodeId].getSimpleName();
             long nodeTimeout = chainNode.getGetNodeTimeout().getAsLong();
             AbstractNode node = chainNode.getNode();
             ProcessResult<T> processResult;
-            String exceptionLog = getExceptionLog((Exception) throwable);
             Throwable cause = throwable;
             if (Objects.nonNull(throwable.getCause())) {
                 cause = throwable.getCause();
             }
 
             if (cause instanceof TimeoutException) {
-                logStr.append(" node [").append(nodeName).append("] execute timeout fail nodeTimeout=").append(nodeTimeout);
                 processResult = buildFailResult(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), ProcessException.MsgEnum.NODE_TIMEOUT.getMsg() + "=" + nodeName);
+            } else if (cause instanceof RejectedExecutionException) {
+                processResult = buildFailResult(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), cause.getMessage());
             } else if (cause instanceof ProcessException) {
-                logStr.append(" node [").append(nodeName).append(" execute process fail");
                 processResult = buildFailResult(((ProcessException) cause).getCode(), ((ProcessException) cause).getMsg());
             } else if (cause instanceof BusinessException) {
-                logStr.append(" node [").append(nodeName).append("] execute business fail");
                 processResult = buildFailResult(((BusinessException) cause).getCode(), ((BusinessException) cause).getMsg());
             } else {
-                logStr.append(" node [").append(nodeName).append("]").append(" execute unknown fail");
-                processResult = buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.NODE_UNKNOWN.getMsg() + "=" + nodeName + " error=" + exceptionLog);
+                processResult = buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.NODE_UNKNOWN.getMsg() + "=" + nodeName + " error=" + getExceptionLog((Exception) throwable));
             }
 
-            logStr.append(" interrupt node msg=").append(exceptionLog).append("\n");
+            if (Objects.nonNull(logStr)) {
+                logStr.append(getNodeFailLog(nodeName, cause, nodeTimeout)).append(" interrupt node msg=").append(getExceptionLog((Exception) throwable)).append("\n");
+            }
 
             chainParam.setFailException((Exception) cause);
 
@@ -77,11 +73,15 @@ public class InterruptFailHandle extends AbstractFailHandle {
 
             node.afterExecute(chainContext);
         } catch (Exception e) {
-            logStr.append(" interrupt node dealFailNode fail msg=").append(getExceptionLog(e));
+            if (Objects.nonNull(logStr)) {
+                logStr.append(" interrupt node dealFailNode fail msg=").append(getExceptionLog(e));
+            }
         } finally {
-            log.info(logStr.toString());
+            if (Objects.nonNull(logStr)) {
+                log.info(logStr.toString());
+            }
 
-            interruptChain(chainParam, chainNodeMap);
+            interruptChain(chainContext, executorService, chainParam);
         }
     }
 
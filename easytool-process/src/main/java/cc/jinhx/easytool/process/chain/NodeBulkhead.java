@@ -0,0 +1,119 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.Getter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 节点舱壁
+ * <p>
+ * 限制节点同时提交和执行的任务数量，并可指定独立线程池，避免一个慢的下游占满公共线程池。
+ * 任务提交前获取许可，执行结束或从线程池队列中移除时释放，已满时不排队，直接按节点失败处理。
+ * 同一个舱壁对象可以传给多个节点或多条链路，共用同一个限制
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Getter
+public class NodeBulkhead {
+
+    /**
+     * 最大并发数量
+     */
+    private final int maxConcurrent;
+
+    /**
+     * 独立线程池，为null时使用链路的线程池
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * 当前并发数量
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicInteger concurrentCount = new AtomicInteger();
+
+    /**
+     * 启动以来的最大并发数量
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicInteger peakConcurrentCount = new AtomicInteger();
+
+
+    private NodeBulkhead(int maxConcurrent, ExecutorService executorService) {
+        this.maxConcurrent = maxConcurrent;
+        this.executorService = executorService;
+    }
+
+    /**
+     * 创建节点舱壁，使用链路的线程池
+     *
+     * @param maxConcurrent 最大并发数量
+     * @return NodeBulkhead
+     */
+    public static NodeBulkhead create(int maxConcurrent) {
+        return create(maxConcurrent, null);
+    }
+
+    /**
+     * 创建节点舱壁
+     *
+     * @param maxConcurrent   最大并发数量
+     * @param executorService 独立线程池，为null时使用链路的线程池
+     * @return NodeBulkhead
+     */
+    public static NodeBulkhead create(int maxConcurrent, ExecutorService executorService) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be greater than 0");
+        }
+        return new NodeBulkhead(maxConcurrent, executorService);
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @return 是否获取成功
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int count = concurrentCount.get();
+            if (count >= maxConcurrent) {
+                return false;
+            }
+            if (concurrentCount.compareAndSet(count, count + 1)) {
+                int peakCount = peakConcurrentCount.get();
+                while (count + 1 > peakCount && !peakConcurrentCount.compareAndSet(peakCount, count + 1)) {
+                    peakCount = peakConcurrentCount.get();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可
+     */
+    void release() {
+        concurrentCount.decrementAndGet();
+    }
+
+    /**
+     * 获取当前并发数量
+     *
+     * @return 当前并发数量
+     */
+    public int getConcurrentCount() {
+        return concurrentCount.get();
+    }
+
+    /**
+     * 获取启动以来的最大并发数量
+     *
+     * @return 最大并发数量
+     */
+    public int getPeakConcurrentCount() {
+        return peakConcurrentCount.get();
+    }
+
+}
@@ -0,0 +1,343 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 节点熔断器
+ * <p>
+ * 关闭状态下统计最近10秒的节点执行结果，失败包括异常和超时，执行次数达到最少次数且失败率达到阈值时打开。
+ * 打开状态下节点不提交线程池，直接按节点失败处理，持续打开时间后进入半开状态，放行指定数量的探测执行，
+ * 探测全部成功则关闭，任意一次失败则重新打开。被拒绝的执行和链路中断导致的失败不计入结果，超时总是计入失败。
+ * 作为参数传入时只是配置模板，每个节点会复制一份独立统计
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Slf4j
+public class NodeCircuitBreaker {
+
+    /**
+     * 统计窗口桶数量
+     */
+    private static final int BUCKET_COUNT = 10;
+
+    /**
+     * 统计窗口桶间隔，单位纳秒
+     */
+    private static final long BUCKET_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long NONE = Long.MIN_VALUE / 2;
+
+    /**
+     * 失败率阈值，0到1
+     */
+    @Getter
+    private final double failureRateThreshold;
+
+    /**
+     * 统计窗口内最少执行次数，未达到时不打开
+     */
+    @Getter
+    private final int minCallCount;
+
+    /**
+     * 打开持续时间，单位毫秒
+     */
+    @Getter
+    private final long openDuration;
+
+    /**
+     * 半开状态探测执行次数
+     */
+    @Getter
+    private final int halfOpenCallCount;
+
+    /**
+     * 名称，用于日志
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * 每个桶的秒数
+     */
+    private final AtomicLongArray bucketEpochs = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 每个桶的执行次数和失败次数，下标为桶 * 2 + 0或1
+     */
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT * 2);
+
+    /**
+     * 半开状态已放行的探测次数
+     */
+    private final AtomicInteger halfOpenAcquiredCount = new AtomicInteger();
+
+    /**
+     * 半开状态探测成功次数
+     */
+    private final AtomicInteger halfOpenSuccessCount = new AtomicInteger();
+
+    /**
+     * 打开次数
+     */
+    private final LongAdder openCount = new LongAdder();
+
+    /**
+     * 拒绝次数
+     */
+    private final LongAdder rejectCount = new LongAdder();
+
+    /**
+     * 当前状态，状态切换时持有当前对象的锁
+     */
+    @Getter
+    private volatile StateEnum state = StateEnum.CLOSED;
+
+    /**
+     * 打开时间，System.nanoTime
+     */
+    private volatile long openTime;
+
+
+    private NodeCircuitBreaker(double failureRateThreshold, int minCallCount, long openDuration, int halfOpenCallCount, String name) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minCallCount = minCallCount;
+        this.openDuration = openDuration;
+        this.halfOpenCallCount = halfOpenCallCount;
+        this.name = name;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketEpochs.set(i, NONE);
+        }
+    }
+
+    /**
+     * 创建节点熔断器
+     *
+     * @param failureRateThreshold 失败率阈值，0到1，如0.5
+     * @param minCallCount         统计窗口内最少执行次数，大于0
+     * @param openDuration         打开持续时间，单位毫秒
+     * @param halfOpenCallCount    半开状态探测执行次数，大于0
+     * @return NodeCircuitBreaker
+     */
+    public static NodeCircuitBreaker create(double failureRateThreshold, int minCallCount, long openDuration, int halfOpenCallCount) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and less than or equal to 1");
+        }
+        if (minCallCount <= 0) {
+            throw new IllegalArgumentException("minCallCount must be greater than 0");
+        }
+        if (openDuration <= 0) {
+            throw new IllegalArgumentException("openDuration must be greater than 0");
+        }
+        if (halfOpenCallCount <= 0) {
+            throw new IllegalArgumentException("halfOpenCallCount must be greater than 0");
+        }
+        return new NodeCircuitBreaker(failureRateThreshold, minCallCount, openDuration, halfOpenCallCount, null);
+    }
+
+    /**
+     * 复制配置，不复制统计
+     *
+     * @param name 名称
+     * @return NodeCircuitBreaker
+     */
+    NodeCircuitBreaker copy(String name) {
+        return new NodeCircuitBreaker(failureRateThreshold, minCallCount, openDuration, halfOpenCallCount, name);
+    }
+
+    /**
+     * 尝试放行一次执行，打开状态到期后切换为半开
+     *
+     * @return 是否放行
+     */
+    boolean tryAcquire() {
+        StateEnum currentState = state;
+        if (StateEnum.CLOSED == currentState) {
+            return true;
+        }
+
+        if (StateEnum.OPEN == currentState) {
+            if (System.nanoTime() - openTime < TimeUnit.MILLISECONDS.toNanos(openDuration)) {
+                rejectCount.increment();
+                return false;
+            }
+            halfOpen();
+        }
+
+        while (true) {
+            int count = halfOpenAcquiredCount.get();
+            if (StateEnum.HALF_OPEN != state || count >= halfOpenCallCount) {
+                rejectCount.increment();
+                return false;
+            }
+            if (halfOpenAcquiredCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 记录放行执行的结果
+     *
+     * @param isSuccess 是否成功
+     */
+    void onResult(boolean isSuccess) {
+        StateEnum currentState = state;
+        if (StateEnum.HALF_OPEN == currentState) {
+            if (!isSuccess) {
+                open(StateEnum.HALF_OPEN);
+            } else if (halfOpenSuccessCount.incrementAndGet() >= halfOpenCallCount) {
+                close();
+            }
+            return;
+        }
+
+        if (StateEnum.CLOSED != currentState) {
+            return;
+        }
+
+        long epoch = Math.floorDiv(System.nanoTime(), BUCKET_INTERVAL);
+        int bucket = (int) Math.floorMod(epoch, (long) BUCKET_COUNT);
+        long bucketEpoch = bucketEpochs.get(bucket);
+        // 并发重置时可能丢失个别样本，不影响失败率
+        if (bucketEpoch != epoch && bucketEpochs.compareAndSet(bucket, bucketEpoch, epoch)) {
+            bucketCounts.set(bucket * 2, 0);
+            bucketCounts.set(bucket * 2 + 1, 0);
+        }
+        bucketCounts.incrementAndGet(bucket * 2);
+        if (isSuccess) {
+            return;
+        }
+
+        bucketCounts.incrementAndGet(bucket * 2 + 1);
+        long[] counts = getCounts(epoch);
+        if (counts[0] >= minCallCount && counts[1] >= counts[0] * failureRateThreshold) {
+            open(StateEnum.CLOSED);
+        }
+    }
+
+    /**
+     * 放行的执行被拒绝或链路已中断，不计入结果，归还半开状态的探测次数
+     */
+    void onIgnore() {
+        if (StateEnum.HALF_OPEN == state) {
+            halfOpenAcquiredCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 获取统计窗口内的执行次数
+     *
+     * @return 执行次数
+     */
+    public long getCallCount() {
+        return getCounts(Math.floorDiv(System.nanoTime(), BUCKET_INTERVAL))[0];
+    }
+
+    /**
+     * 获取统计窗口内的失败次数
+     *
+     * @return 失败次数
+     */
+    public long getFailureCount() {
+        return getCounts(Math.floorDiv(System.nanoTime(), BUCKET_INTERVAL))[1];
+    }
+
+    /**
+     * 获取启动以来的打开次数
+     *
+     * @return 打开次数
+     */
+    public long getOpenCount() {
+        return openCount.sum();
+    }
+
+    /**
+     * 获取启动以来的拒绝次数
+     *
+     * @return 拒绝次数
+     */
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    /**
+     * 统计窗口内的执行次数和失败次数
+     *
+     * @param epoch 当前秒数
+     * @return long[]{执行次数, 失败次数}
+     */
+    private long[] getCounts(long epoch) {
+        long[] counts = new long[2];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long age = epoch - bucketEpochs.get(i);
+            if (age >= 0 && age < BUCKET_COUNT) {
+                counts[0] += bucketCounts.get(i * 2);
+                counts[1] += bucketCounts.get(i * 2 + 1);
+            }
+        }
+        return counts;
+    }
+
+    private synchronized void open(StateEnum fromState) {
+        if (fromState != state) {
+            return;
+        }
+
+        openTime = System.nanoTime();
+        state = StateEnum.OPEN;
+        openCount.increment();
+        logStateChange(fromState);
+    }
+
+    private synchronized void halfOpen() {
+        if (StateEnum.OPEN != state) {
+            return;
+        }
+
+        halfOpenAcquiredCount.set(0);
+        halfOpenSuccessCount.set(0);
+        state = StateEnum.HALF_OPEN;
+        logStateChange(StateEnum.OPEN);
+    }
+
+    private synchronized void close() {
+        if (StateEnum.HALF_OPEN != state) {
+            return;
+        }
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketEpochs.set(i, NONE);
+        }
+        state = StateEnum.CLOSED;
+        logStateChange(StateEnum.HALF_OPEN);
+    }
+
+    private void logStateChange(StateEnum fromState) {
+        log.info("process circuitBreaker [" + name + "] state change from=" + fromState.getMsg() + " to=" + state.getMsg());
+    }
+
+
+    @AllArgsConstructor
+    @Getter
+    public enum StateEnum {
+
+        CLOSED(1, "关闭"),
+        OPEN(2, "打开"),
+        HALF_OPEN(3, "半开"),
+        ;
+
+        private final int code;
+        private final String msg;
+
+    }
+
+}
@@ -0,0 +1,292 @@
+package cc.jinhx.easytool.process.chain;
+
+import cc.jinhx.easytool.process.node.AbstractNode;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单次链路执行的节点时间线
+ * <p>
+ * 所有节点的时间保存在一个long数组中，下标为节点id * FIELD_COUNT + 字段，单位纳秒，时间为相对链路开始的偏移量，未记录为-1。
+ * 同一节点同时只有一个任务在执行，每个下标只会被一个线程写入，写入不加锁也不装箱。
+ * 链路结束时冻结为快照，之后的读取都基于快照，超时后仍在执行的节点后续写入不会影响已冻结的时间线。
+ * 成功完成的节点另外记录在位图中，每个节点一位，写入使用原子操作，读取到完成位时节点写入上下文的数据也可见
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class NodeTimeline implements Serializable {
+
+    private static final long serialVersionUID = 2851736084562731915L;
+
+    /**
+     * 开始执行时间
+     */
+    private static final int START_TIME = 0;
+
+    /**
+     * 结束执行时间
+     */
+    private static final int END_TIME = 1;
+
+    /**
+     * 排队等待时间
+     */
+    private static final int QUEUE_WAIT_TIME = 2;
+
+    /**
+     * 重试次数
+     */
+    private static final int RETRY_COUNT = 3;
+
+    private static final int FIELD_COUNT = 4;
+
+    private static final long NONE = -1L;
+
+    /**
+     * 节点id -> 节点class
+     */
+    private final Class<? extends AbstractNode>[] nodeClasses;
+
+    /**
+     * 节点class -> 节点id
+     */
+    private final Map<Class<? extends AbstractNode>, Integer> nodeIdMap;
+
+    /**
+     * 链路开始时间，System.nanoTime
+     */
+    private final long chainStartTime;
+
+    /**
+     * 执行中写入的时间
+     */
+    private final long[] times;
+
+    /**
+     * 成功完成的节点位图，下标为节点id / 64
+     */
+    private final AtomicLongArray completedBits;
+
+    /**
+     * 链路结束时冻结的快照
+     */
+    private volatile long[] frozenTimes;
+
+    /**
+     * 链路结束时冻结的成功完成节点位图，在frozenTimes之前写入
+     */
+    private long[] frozenCompletedBits;
+
+
+    private NodeTimeline(ChainPlan chainPlan, long chainStartTime) {
+        this.nodeClasses = chainPlan.getNodeClasses();
+        this.nodeIdMap = chainPlan.getNodeIdMap();
+        this.chainStartTime = chainStartTime;
+        this.times = new long[chainPlan.getNodeCount() * FIELD_COUNT];
+        Arrays.fill(times, NONE);
+        this.completedBits = new AtomicLongArray((chainPlan.getNodeCount() + 63) >>> 6);
+    }
+
+    /**
+     * 创建节点时间线
+     *
+     * @param chainPlan      chainPlan
+     * @param chainStartTime 链路开始时间，System.nanoTime
+     * @return NodeTimeline
+     */
+    static NodeTimeline create(ChainPlan chainPlan, long chainStartTime) {
+        return new NodeTimeline(chainPlan, chainStartTime);
+    }
+
+    /**
+     * 记录节点开始执行，重试时覆盖上一次执行
+     *
+     * @param nodeId      nodeId
+     * @param enqueueTime 提交时间，System.nanoTime
+     * @param startTime   开始时间，System.nanoTime
+     * @param retryCount  retryCount
+     */
+    void recordStart(int nodeId, long enqueueTime, long startTime, int retryCount) {
+        int offset = nodeId * FIELD_COUNT;
+        times[offset + START_TIME] = startTime - chainStartTime;
+        times[offset + END_TIME] = NONE;
+        times[offset + QUEUE_WAIT_TIME] = startTime - enqueueTime;
+        times[offset + RETRY_COUNT] = retryCount;
+    }
+
+    /**
+     * 记录节点结束执行
+     *
+     * @param nodeId  nodeId
+     * @param endTime 结束时间，System.nanoTime
+     */
+    void recordEnd(int nodeId, long endTime) {
+        times[nodeId * FIELD_COUNT + END_TIME] = endTime - chainStartTime;
+    }
+
+    /**
+     * 记录节点成功完成
+     *
+     * @param nodeId nodeId
+     */
+    void recordCompleted(int nodeId) {
+        completedBits.accumulateAndGet(nodeId >>> 6, 1L << nodeId, (left, right) -> left | right);
+    }
+
+    /**
+     * 链路结束，冻结时间线，只有第一次调用生效
+     */
+    void freeze() {
+        if (Objects.isNull(frozenTimes)) {
+            long[] bits = new long[completedBits.length()];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = completedBits.get(i);
+            }
+            frozenCompletedBits = bits;
+            frozenTimes = times.clone();
+        }
+    }
+
+    /**
+     * 是否已冻结
+     *
+     * @return 是否已冻结
+     */
+    public boolean isFrozen() {
+        return Objects.nonNull(frozenTimes);
+    }
+
+    /**
+     * 获取节点时间，节点不在链路中返回null
+     *
+     * @param nodeClass nodeClass
+     * @return NodeTime
+     */
+    public NodeTime getNodeTime(Class<? extends AbstractNode> nodeClass) {
+        Integer nodeId = nodeIdMap.get(nodeClass);
+        return Objects.isNull(nodeId) ? null : buildNodeTime(getTimes(), nodeId);
+    }
+
+    /**
+     * 节点是否已成功完成，节点不在链路中返回false
+     *
+     * @param nodeClass nodeClass
+     * @return 是否已成功完成
+     */
+    public boolean isNodeCompleted(Class<? extends AbstractNode> nodeClass) {
+        Integer nodeId = nodeIdMap.get(nodeClass);
+        return Objects.nonNull(nodeId) && isNodeCompleted(nodeId);
+    }
+
+    /**
+     * 获取已成功完成的节点
+     *
+     * @return Set<Class < ? extends AbstractNode>>
+     */
+    public Set<Class<? extends AbstractNode>> getCompletedNodes() {
+        Set<Class<? extends AbstractNode>> completedNodes = new HashSet<>();
+        for (int i = 0; i < nodeClasses.length; i++) {
+            if (isNodeCompleted(i)) {
+                completedNodes.add(nodeClasses[i]);
+            }
+        }
+        return completedNodes;
+    }
+
+    /**
+     * 节点是否已成功完成，冻结后读取快照
+     *
+     * @param nodeId nodeId
+     * @return 是否已成功完成
+     */
+    boolean isNodeCompleted(int nodeId) {
+        long bits = Objects.isNull(frozenTimes) ? completedBits.get(nodeId >>> 6) : frozenCompletedBits[nodeId >>> 6];
+        return (bits & (1L << nodeId)) != 0;
+    }
+
+    /**
+     * 获取已开始执行的节点时间，按开始时间升序
+     *
+     * @return List<NodeTime>
+     */
+    public List<NodeTime> getNodeTimes() {
+        long[] currentTimes = getTimes();
+        List<NodeTime> nodeTimes = new ArrayList<>(nodeClasses.length);
+        for (int i = 0; i < nodeClasses.length; i++) {
+            if (currentTimes[i * FIELD_COUNT + START_TIME] != NONE) {
+                nodeTimes.add(buildNodeTime(currentTimes, i));
+            }
+        }
+
+        nodeTimes.sort(Comparator.comparingLong(NodeTime::getStartTime));
+        return nodeTimes;
+    }
+
+    /**
+     * 冻结后读取快照，否则读取执行中的时间
+     *
+     * @return long[]
+     */
+    private long[] getTimes() {
+        long[] currentTimes = frozenTimes;
+        return Objects.isNull(currentTimes) ? times : currentTimes;
+    }
+
+    private NodeTime buildNodeTime(long[] currentTimes, int nodeId) {
+        int offset = nodeId * FIELD_COUNT;
+        NodeTime nodeTime = new NodeTime();
+        nodeTime.setNodeClass(nodeClasses[nodeId]);
+        nodeTime.setStartTime(currentTimes[offset + START_TIME]);
+        nodeTime.setEndTime(currentTimes[offset + END_TIME]);
+        nodeTime.setQueueWaitTime(currentTimes[offset + QUEUE_WAIT_TIME]);
+        nodeTime.setRetryCount((int) Math.max(0, currentTimes[offset + RETRY_COUNT]));
+        return nodeTime;
+    }
+
+
+    /**
+     * 节点时间，单位纳秒，相对链路开始时间，未记录为-1
+     */
+    @Data
+    public static class NodeTime implements Serializable {
+
+        private static final long serialVersionUID = -6193370845028612307L;
+
+        private Class<? extends AbstractNode> nodeClass;
+
+        /**
+         * 开始执行时间
+         */
+        private long startTime;
+
+        /**
+         * 结束执行时间，未结束为-1
+         */
+        private long endTime;
+
+        /**
+         * 提交到开始执行的排队等待时间
+         */
+        private long queueWaitTime;
+
+        /**
+         * 本次执行前已重试的次数
+         */
+        private int retryCount;
+
+        /**
+         * 获取执行耗时，未结束返回-1
+         *
+         * @return 执行耗时
+         */
+        public long getRunTime() {
+            return startTime < 0 || endTime < 0 ? -1L : endTime - startTime;
+        }
+
+    }
+
+}
@@ -3,16 +3,16 @@ package cc.jinhx.easytool.process.chain;
 import cc.jinhx.easytool.process.BusinessException;
 import cc.jinhx.easytool.process.ProcessException;
 import cc.jinhx.easytool.process.ProcessResult;
+import cc.jinhx.easytool.process.ThreadUtil;
 import cc.jinhx.easytool.process.node.AbstractNode;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collections;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -27,44 +27,62 @@ import java.util.concurrent.TimeoutException;
 public class RetryFailHandle extends AbstractFailHandle {
 
     @Override
-    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, Class<? extends AbstractNode> nodeClass,
-                                    ChainParam<T> chainParam, Map<Class<? extends AbstractNode>, ChainNode> chainNodeMap,
-                                    Map<Class<? extends AbstractNode>, Set<Class<? extends AbstractNode>>> childNodeClassMap,
-                                    AbstractChain chain, Throwable throwable, String logPrefix) {
-        StringBuffer logStr = new StringBuffer(logPrefix);
-        ChainNode chainNode = chainNodeMap.get(nodeClass);
-        boolean isLastTimes = getIsLastTimes(nodeClass, chainParam, chainNode);
-        int retryCount = chainParam.getNodeClassRetryCountMap().get(nodeClass);
+    protected <T> void dealFailNode(ChainContext<T> chainContext, ExecutorService executorService, int nodeId,
+                                    ChainParam<T> chainParam, ChainPlan chainPlan, AbstractChain chain, Throwable throwable, String logPrefix) {
+        StringBuffer logStr = Objects.isNull(logPrefix) ? null : new StringBuffer(logPrefix);
+        ChainNode chainNode = chainPlan.getChainNodes()[nodeId];
+        // 被拒绝说明已经过载，立即重试只会加重负载，不再重试
+        boolean isLastTimes = getIsLastTimes(nodeId, chainParam, chainNode) || throwable.getCause() instanceof RejectedExecutionException;
+        int retryCount = chainParam.getNodeRetryCounts()[nodeId];
+        // 退避后超过链路截止时间或重试预算不足则不再重试，先判断截止时间，避免无效消耗预算
+        RetryPolicy retryPolicy = chainNode.getRetryPolicy();
+        long backoff = 0L;
+        String stopReason = null;
+        if (!isLastTimes) {
+            backoff = Objects.isNull(retryPolicy) ? 0L : retryPolicy.getBackoff(retryCount);
+            if (chainParam.getRemainingTime() <= backoff) {
+                isLastTimes = true;
+                stopReason = "deadline exceeded";
+            } else if (Objects.nonNull(retryPolicy) && !retryPolicy.tryAcquireRetry()) {
+                isLastTimes = true;
+                stopReason = "retry budget exhausted";
+            }
+        }
         try {
-            String nodeName = nodeClass.getSimpleName();
+            String nodeName = chainPlan.getNodeClasses()[nodeId].getSimpleName();
             long nodeTimeout = chainNode.getGetNodeTimeout().getAsLong();
             ChainNode.RetryTimesEnum retryTimes = chainNode.getRetryTimes();
             AbstractNode node = chainNode.getNode();
             ProcessResult<T> processResult;
-            String exceptionLog = getExceptionLog((Exception) throwable);
             Throwable cause = throwable;
             if (Objects.nonNull(throwable.getCause())) {
                 cause = throwable.getCause();
             }
 
             if (cause instanceof TimeoutException) {
-                logStr.append(" node [").append(nodeName).append("] execute timeout fail nodeTimeout=").append(nodeTimeout);
                 processResult = buildFailResult(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), ProcessException.MsgEnum.NODE_TIMEOUT.getMsg() + "=" + nodeName);
+            } else if (cause instanceof RejectedExecutionException) {
+                processResult = buildFailResult(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), cause.getMessage());
             } else if (cause instanceof ProcessException) {
-                logStr.append(" node [").append(nodeName).append("] execute process fail");
                 processResult = buildFailResult(((ProcessException) cause).getCode(), ((ProcessException) cause).getMsg());
             } else if (cause instanceof BusinessException) {
-                logStr.append(" node [").append(nodeName).append("] execute business fail");
                 processResult = buildFailResult(((BusinessException) cause).getCode(), ((BusinessException) cause).getMsg());
             } else {
-                logStr.append(" node [").append(nodeName).append("] execute unknown fail");
-                processResult = buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.NODE_UNKNOWN.getMsg() + "=" + nodeName + " error=" + exceptionLog);
+                processResult = buildFailResult(ProcessResult.BaseEnum.UNKNOW_FAIL.getCode(), ProcessException.MsgEnum.NODE_UNKNOWN.getMsg() + "=" + nodeName + " error=" + getExceptionLog((Exception) throwable));
             }
 
-            if (isLastTimes) {
-                logStr.append(" stop retry node interrupt node retryTimes=").append(retryTimes.getCode()).append(" retryCount=").append(retryCount).append(" msg=").append(exceptionLog).append("\n");
-            } else {
-                logStr.append(" start retry node retryTimes=").append(retryTimes.getCode()).append(" retryCount=").append(retryCount + 1).append(" msg=").append(exceptionLog).append("\n");
+            if (Objects.nonNull(logStr)) {
+                logStr.append(getNodeFailLog(nodeName, cause, nodeTimeout));
+                if (isLastTimes) {
+                    logStr.append(" stop retry node interrupt node retryTimes=").append(retryTimes.getCode()).append(" retryCount=").append(retryCount);
+                    if (Objects.nonNull(stopReason)) {
+                        logStr.append(" reason=").append(stopReason);
+                    }
+                } else {
+                    logStr.append(" start retry node retryTimes=").append(retryTimes.getCode()).append(" retryCount=").append(retryCount + 1)
+                            .append(" backoff=").append(backoff).append("ms");
+                }
+                logStr.append(" msg=").append(getExceptionLog((Exception) throwable)).append("\n");
             }
 
             if (isLastTimes) {
@@ -87,17 +105,34 @@ public class RetryFailHandle extends AbstractFailHandle {
                 node.afterExecute(chainContext);
             }
         } catch (Exception e) {
-            logStr.append(" retry node dealFailNode fail msg=").append(getExceptionLog(e));
+            if (Objects.nonNull(logStr)) {
+                logStr.append(" retry node dealFailNode fail msg=").append(getExceptionLog(e));
+            }
         } finally {
-            log.info(logStr.toString());
+            if (Objects.nonNull(logStr)) {
+                log.info(logStr.toString());
+            }
 
             if (!isLastTimes) {
-                // 重试次数加1
-                chainParam.getNodeClassRetryCountMap().put(nodeClass, retryCount + 1);
-                chainParam.getNodeClassStatusMap().put(nodeClass, ChainParam.NodeStatusEnum.RETRYING.getCode());
-                chain.startRunNode(chainContext, executorService, Collections.singleton(nodeClass), chainParam);
+                // 重试次数加1，链路已中断则不再重试，退避期间链路中断时到期提交会被忽略
+                chainParam.getNodeRetryCounts()[nodeId] = retryCount + 1;
+                if (chainParam.tryRetryNode(nodeId)) {
+                    if (backoff > 0) {
+                        // 时间轮线程只负责提交，重试在链路线程池上开始，线程池拒绝时在时间轮线程上开始，提交节点时按被拒绝处理
+                        ThreadUtil.ChainTask retryTask = () -> chain.startRunNode(chainContext, executorService, nodeId, chainParam);
+                        ThreadUtil.schedule(() -> {
+                            try {
+                                executorService.execute(retryTask);
+                            } catch (RejectedExecutionException e) {
+                                retryTask.run();
+                            }
+                        }, Duration.ofMillis(backoff));
+                    } else {
+                        chain.startRunNode(chainContext, executorService, nodeId, chainParam);
+                    }
+                }
             } else {
-                interruptChain(chainParam, chainNodeMap);
+                interruptChain(chainContext, executorService, chainParam);
             }
         }
     }
@@ -105,13 +140,13 @@ public class RetryFailHandle extends AbstractFailHandle {
     /**
      * 获取是否最后一次执行该节点
      *
-     * @param nodeClass  nodeClass
+     * @param nodeId     nodeId
      * @param chainParam chainParam
      * @param chainNode  chainNode
      * @return 是否最后一次执行该节点
      */
-    private <T> boolean getIsLastTimes(Class<? extends AbstractNode> nodeClass, ChainParam<T> chainParam, ChainNode chainNode) {
-        return ChainNode.FailHandleEnum.RETRY.getCode() != chainNode.getFailHandle().getCode() || chainNode.getRetryTimes().getCode() == chainParam.getNodeClassRetryCountMap().get(nodeClass);
+    private <T> boolean getIsLastTimes(int nodeId, ChainParam<T> chainParam, ChainNode chainNode) {
+        return ChainNode.FailHandleEnum.RETRY.getCode() != chainNode.getFailHandle().getCode() || chainNode.getRetryTimes().getCode() == chainParam.getNodeRetryCounts()[nodeId];
     }
 
 }
\ No newline at end of file
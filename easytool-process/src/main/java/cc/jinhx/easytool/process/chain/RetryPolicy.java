@@ -0,0 +1,150 @@
+package cc.jinhx.easytool.process.chain;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 重试策略
+ * <p>
+ * 重试在时间轮上按指数退避延迟提交，退避时间在[上限 / 2, 上限]之间随机，避免大量请求同时重试。
+ * 退避后已超过链路截止时间的不再重试。可选重试预算：每次首次执行存入budgetRatio个令牌，每次重试消耗1个，
+ * 令牌最多累积MAX_BUDGET个，令牌不足时不再重试，故障期间重试次数最多为执行次数的budgetRatio倍。
+ * 作为参数传入时只是配置模板，每个节点会复制一份独立预算
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class RetryPolicy {
+
+    /**
+     * 最多累积的重试令牌数量
+     */
+    private static final long MAX_BUDGET = 10L;
+
+    /**
+     * 令牌精度，一个令牌对应的计数
+     */
+    private static final long TOKEN_SCALE = 1000L;
+
+    /**
+     * 首次重试退避时间，单位毫秒
+     */
+    @Getter
+    private final long baseBackoff;
+
+    /**
+     * 最大退避时间，单位毫秒
+     */
+    @Getter
+    private final long maxBackoff;
+
+    /**
+     * 重试预算比例，0到1，为0时不限制
+     */
+    @Getter
+    private final double budgetRatio;
+
+    /**
+     * 剩余令牌，单位为令牌 / TOKEN_SCALE
+     */
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET * TOKEN_SCALE);
+
+
+    private RetryPolicy(long baseBackoff, long maxBackoff, double budgetRatio) {
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.budgetRatio = budgetRatio;
+    }
+
+    /**
+     * 创建重试策略，不限制重试预算
+     *
+     * @param baseBackoff 首次重试退避时间，单位毫秒
+     * @param maxBackoff  最大退避时间，单位毫秒
+     * @return RetryPolicy
+     */
+    public static RetryPolicy create(long baseBackoff, long maxBackoff) {
+        return create(baseBackoff, maxBackoff, 0);
+    }
+
+    /**
+     * 创建重试策略
+     *
+     * @param baseBackoff 首次重试退避时间，单位毫秒
+     * @param maxBackoff  最大退避时间，单位毫秒
+     * @param budgetRatio 重试预算比例，0到1，如0.1表示重试次数最多为执行次数的10%，为0时不限制
+     * @return RetryPolicy
+     */
+    public static RetryPolicy create(long baseBackoff, long maxBackoff, double budgetRatio) {
+        if (baseBackoff < 0 || baseBackoff > maxBackoff) {
+            throw new IllegalArgumentException("baseBackoff must be greater than or equal to 0 and less than or equal to maxBackoff");
+        }
+        if (budgetRatio < 0 || budgetRatio > 1) {
+            throw new IllegalArgumentException("budgetRatio must be between 0 and 1");
+        }
+        return new RetryPolicy(baseBackoff, maxBackoff, budgetRatio);
+    }
+
+    /**
+     * 复制配置，不复制预算
+     *
+     * @return RetryPolicy
+     */
+    RetryPolicy copy() {
+        return new RetryPolicy(baseBackoff, maxBackoff, budgetRatio);
+    }
+
+    /**
+     * 获取本次重试的退避时间
+     *
+     * @param retryCount 已重试次数
+     * @return 退避时间，单位毫秒
+     */
+    long getBackoff(int retryCount) {
+        long backoff = Math.min(maxBackoff, baseBackoff << Math.min(retryCount, 30));
+        return backoff <= 1 ? backoff : ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+    }
+
+    /**
+     * 首次执行，存入令牌
+     */
+    void deposit() {
+        if (budgetRatio > 0) {
+            long amount = (long) (budgetRatio * TOKEN_SCALE);
+            budget.getAndUpdate(value -> Math.min(MAX_BUDGET * TOKEN_SCALE, value + amount));
+        }
+    }
+
+    /**
+     * 尝试消耗一个令牌
+     *
+     * @return 是否可以重试
+     */
+    boolean tryAcquireRetry() {
+        if (budgetRatio <= 0) {
+            return true;
+        }
+
+        while (true) {
+            long value = budget.get();
+            if (value < TOKEN_SCALE) {
+                return false;
+            }
+            if (budget.compareAndSet(value, value - TOKEN_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取剩余可重试次数
+     *
+     * @return 剩余可重试次数，不限制时返回-1
+     */
+    public long getRemainingBudget() {
+        return budgetRatio > 0 ? budget.get() / TOKEN_SCALE : -1L;
+    }
+
+}
@@ -0,0 +1,34 @@
+package cc.jinhx.easytool.process.monitor;
+
+import lombok.Data;
+
+/**
+ * 节点舱壁统计，占用为查询时的瞬时值，其余从启动开始累计
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+public class BulkheadStat {
+
+    /**
+     * 最大并发数量
+     */
+    private int maxConcurrent;
+
+    /**
+     * 当前并发数量
+     */
+    private int concurrentCount;
+
+    /**
+     * 最大并发峰值，多个节点共用同一个舱壁时为共用的峰值
+     */
+    private int peakConcurrentCount;
+
+    /**
+     * 舱壁已满被拒绝的次数
+     */
+    private long rejectCount;
+
+}
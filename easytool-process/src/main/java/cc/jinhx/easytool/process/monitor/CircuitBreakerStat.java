@@ -0,0 +1,40 @@
+package cc.jinhx.easytool.process.monitor;
+
+import cc.jinhx.easytool.process.chain.NodeCircuitBreaker;
+import lombok.Data;
+
+/**
+ * 节点熔断统计，执行次数和失败次数为最近10秒，其余从启动开始累计
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+public class CircuitBreakerStat {
+
+    /**
+     * 当前状态
+     */
+    private NodeCircuitBreaker.StateEnum state;
+
+    /**
+     * 统计窗口内的执行次数
+     */
+    private long callCount;
+
+    /**
+     * 统计窗口内的失败次数，包括异常和超时
+     */
+    private long failureCount;
+
+    /**
+     * 打开次数
+     */
+    private long openCount;
+
+    /**
+     * 熔断拒绝次数
+     */
+    private long rejectCount;
+
+}
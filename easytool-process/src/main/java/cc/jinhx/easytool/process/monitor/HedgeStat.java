@@ -0,0 +1,29 @@
+package cc.jinhx.easytool.process.monitor;
+
+import lombok.Data;
+
+/**
+ * 节点对冲统计，从启动开始累计
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+public class HedgeStat {
+
+    /**
+     * 提交的对冲副本数量
+     */
+    private long hedgeCount;
+
+    /**
+     * 对冲副本先于主任务成功的次数
+     */
+    private long hedgeWinCount;
+
+    /**
+     * 对冲副本的执行耗时之和，即对冲额外增加的负载，单位纳秒
+     */
+    private long hedgeTime;
+
+}
@@ -0,0 +1,107 @@
+package cc.jinhx.easytool.process.monitor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数线性耗时直方图，无锁，记录时不分配内存
+ * <p>
+ * 小于16的值每个值一个桶，之后每个2的幂区间线性划分为16个桶，相对误差不超过1/16，覆盖long全部非负值
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    /**
+     * 桶数量
+     */
+    public static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+
+    /**
+     * 记录一次耗时，负数按0记录
+     *
+     * @param value value
+     */
+    public void record(long value) {
+        counts.incrementAndGet(getBucketIndex(Math.max(value, 0)));
+    }
+
+    /**
+     * 复制当前各桶计数
+     *
+     * @param target 长度为BUCKET_COUNT的数组
+     */
+    public void copyCounts(long[] target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            target[i] = counts.get(i);
+        }
+    }
+
+    /**
+     * 获取值所在桶的下标
+     *
+     * @param value 非负值
+     * @return 桶下标
+     */
+    public static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * 获取桶内的最大值，分位数按桶内最大值计算，结果偏保守
+     *
+     * @param index 桶下标
+     * @return 桶内最大值
+     */
+    public static long getBucketHighestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowestValue = (long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+    /**
+     * 根据各桶计数获取分位数，按桶内最大值计算
+     *
+     * @param counts     长度为BUCKET_COUNT的数组
+     * @param percentile 0到1
+     * @return 分位数，没有记录返回0
+     */
+    public static long getValueAtPercentile(long[] counts, double percentile) {
+        long totalCount = 0;
+        for (long count : counts) {
+            totalCount += count;
+        }
+        if (totalCount <= 0) {
+            return 0L;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(totalCount * percentile));
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank) {
+                return getBucketHighestValue(i);
+            }
+        }
+        return getBucketHighestValue(counts.length - 1);
+    }
+
+}
@@ -0,0 +1,151 @@
+package cc.jinhx.easytool.process.monitor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 滑动窗口耗时记录器
+ * <p>
+ * 记录在调用线程上完成，只累加计数器和累计直方图，无锁且不分配内存。
+ * 监控线程每分钟调用一次rotate，用累计值减去上一分钟的快照得到这一分钟的分布，以稀疏数组保存最近60分钟
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class LatencyRecorder {
+
+    /**
+     * 最大窗口分钟数
+     */
+    public static final int MAX_WINDOW_MINUTES = 60;
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalTime = new LongAdder();
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    // 以下字段只在加锁后访问
+    private final long[] lastCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    private final long[] currentCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    private long lastTotalCount;
+
+    private long lastTotalTime;
+
+    /**
+     * 最近60分钟每分钟的分布，环形数组
+     */
+    private final MinuteCounts[] minuteCounts = new MinuteCounts[MAX_WINDOW_MINUTES];
+
+    private int minuteIndex;
+
+
+    /**
+     * 记录一次耗时
+     *
+     * @param time time
+     */
+    public void record(long time) {
+        totalCount.increment();
+        totalTime.add(time);
+        histogram.record(time);
+    }
+
+    /**
+     * 切换到下一分钟，由监控线程每分钟调用一次
+     */
+    public synchronized void rotate() {
+        histogram.copyCounts(currentCounts);
+        long currentTotalCount = totalCount.sum();
+        long currentTotalTime = totalTime.sum();
+
+        minuteIndex = (minuteIndex + 1) % MAX_WINDOW_MINUTES;
+        minuteCounts[minuteIndex] = MinuteCounts.create(currentCounts, lastCounts, currentTotalCount - lastTotalCount, currentTotalTime - lastTotalTime);
+
+        System.arraycopy(currentCounts, 0, lastCounts, 0, currentCounts.length);
+        lastTotalCount = currentTotalCount;
+        lastTotalTime = currentTotalTime;
+    }
+
+    /**
+     * 获取最近minutes个完整分钟加当前未满一分钟的耗时统计
+     *
+     * @param minutes 1到60
+     * @return LatencyStat
+     */
+    public synchronized LatencyStat getLatencyStat(int minutes) {
+        if (minutes <= 0 || minutes > MAX_WINDOW_MINUTES) {
+            throw new IllegalArgumentException("minutes must be between 1 and " + MAX_WINDOW_MINUTES);
+        }
+
+        // 当前未满一分钟
+        histogram.copyCounts(currentCounts);
+        long[] windowCounts = new long[LatencyHistogram.BUCKET_COUNT];
+        for (int i = 0; i < windowCounts.length; i++) {
+            windowCounts[i] = currentCounts[i] - lastCounts[i];
+        }
+        long windowTotalCount = totalCount.sum() - lastTotalCount;
+        long windowTotalTime = totalTime.sum() - lastTotalTime;
+
+        for (int i = 0; i < minutes; i++) {
+            MinuteCounts counts = minuteCounts[(minuteIndex - i + MAX_WINDOW_MINUTES) % MAX_WINDOW_MINUTES];
+            if (counts != null) {
+                counts.addTo(windowCounts);
+                windowTotalCount += counts.totalCount;
+                windowTotalTime += counts.totalTime;
+            }
+        }
+
+        return LatencyStat.create(windowCounts, windowTotalCount, windowTotalTime);
+    }
+
+
+    /**
+     * 一分钟内的分布，只保存非0的桶
+     */
+    private static class MinuteCounts {
+
+        private final int[] indexes;
+
+        private final long[] counts;
+
+        private final long totalCount;
+
+        private final long totalTime;
+
+        private MinuteCounts(int[] indexes, long[] counts, long totalCount, long totalTime) {
+            this.indexes = indexes;
+            this.counts = counts;
+            this.totalCount = totalCount;
+            this.totalTime = totalTime;
+        }
+
+        private static MinuteCounts create(long[] currentCounts, long[] lastCounts, long totalCount, long totalTime) {
+            int size = 0;
+            for (int i = 0; i < currentCounts.length; i++) {
+                if (currentCounts[i] != lastCounts[i]) {
+                    size++;
+                }
+            }
+
+            int[] indexes = new int[size];
+            long[] counts = new long[size];
+            for (int i = 0, j = 0; i < currentCounts.length; i++) {
+                if (currentCounts[i] != lastCounts[i]) {
+                    indexes[j] = i;
+                    counts[j++] = currentCounts[i] - lastCounts[i];
+                }
+            }
+            return new MinuteCounts(indexes, counts, totalCount, totalTime);
+        }
+
+        private void addTo(long[] windowCounts) {
+            for (int i = 0; i < indexes.length; i++) {
+                windowCounts[indexes[i]] += counts[i];
+            }
+        }
+
+    }
+
+}
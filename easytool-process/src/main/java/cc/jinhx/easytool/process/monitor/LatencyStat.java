@@ -0,0 +1,95 @@
+package cc.jinhx.easytool.process.monitor;
+
+import lombok.Data;
+
+/**
+ * 窗口内的耗时统计，单位同记录的耗时，链路和节点监控为纳秒
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Data
+public class LatencyStat {
+
+    /**
+     * 次数
+     */
+    private long count;
+
+    /**
+     * 平均耗时
+     */
+    private long averageTime;
+
+    private long p50;
+
+    private long p90;
+
+    private long p99;
+
+    private long p999;
+
+    /**
+     * 最大耗时，精度同直方图
+     */
+    private long maxTime;
+
+
+    /**
+     * 根据直方图各桶计数计算统计值
+     *
+     * @param counts     counts
+     * @param totalCount totalCount
+     * @param totalTime  totalTime
+     * @return LatencyStat
+     */
+    public static LatencyStat create(long[] counts, long totalCount, long totalTime) {
+        LatencyStat latencyStat = new LatencyStat();
+        latencyStat.setCount(totalCount);
+        if (totalCount <= 0) {
+            return latencyStat;
+        }
+
+        latencyStat.setAverageTime(totalTime / totalCount);
+
+        // 计数器和直方图不是同时读取的，分位数按直方图自身的总数计算
+        long histogramCount = 0;
+        for (long count : counts) {
+            histogramCount += count;
+        }
+        long p50Rank = getRank(histogramCount, 0.5);
+        long p90Rank = getRank(histogramCount, 0.9);
+        long p99Rank = getRank(histogramCount, 0.99);
+        long p999Rank = getRank(histogramCount, 0.999);
+
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+
+            long previousCount = cumulativeCount;
+            cumulativeCount += counts[i];
+            long value = LatencyHistogram.getBucketHighestValue(i);
+            if (previousCount < p50Rank && cumulativeCount >= p50Rank) {
+                latencyStat.setP50(value);
+            }
+            if (previousCount < p90Rank && cumulativeCount >= p90Rank) {
+                latencyStat.setP90(value);
+            }
+            if (previousCount < p99Rank && cumulativeCount >= p99Rank) {
+                latencyStat.setP99(value);
+            }
+            if (previousCount < p999Rank && cumulativeCount >= p999Rank) {
+                latencyStat.setP999(value);
+            }
+            latencyStat.setMaxTime(value);
+        }
+        return latencyStat;
+    }
+
+    private static long getRank(long totalCount, double percentile) {
+        return Math.max(1, (long) Math.ceil(totalCount * percentile));
+    }
+
+}
@@ -2,19 +2,26 @@ package cc.jinhx.easytool.process.monitor;
 
 import cc.jinhx.easytool.process.ThreadUtil;
 import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.NodeBulkhead;
+import cc.jinhx.easytool.process.chain.NodeCircuitBreaker;
 import cc.jinhx.easytool.process.node.AbstractNode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 链路监控
+ * <p>
+ * 耗时在调用线程上直接记录到无锁直方图，不提交线程池，监控线程每分钟切换窗口，每小时输出最近1分钟、5分钟和1小时的分位数。
+ * 耗时单位为纳秒，节点的线程池排队等待和执行耗时分开记录，用于区分耗时来自节点本身还是线程池饱和
  *
  * @author jinhx
  * @since 2022-03-21
@@ -24,9 +31,19 @@ import java.util.concurrent.TimeUnit;
 public class Monitor {
 
     /**
-     * 链路监控参数map
+     * 窗口切换间隔，单位毫秒
      */
-    private static final Map<Class<? extends AbstractChain>, Map<Class<? extends AbstractNode>, NodeExecuteInfo>> chainNodeExecuteInfoMap = new ConcurrentHashMap<>();
+    private static final long ROTATE_INTERVAL = 60 * 1000L;
+
+    /**
+     * 监控日志输出间隔，单位毫秒
+     */
+    private static final long LOG_INTERVAL = 3600 * 1000L;
+
+    /**
+     * 链路监控信息map
+     */
+    private static final Map<Class<? extends AbstractChain>, ChainMonitorInfo> chainMonitorInfoMap = new ConcurrentHashMap<>();
 
 
     static {
@@ -35,78 +52,460 @@ public class Monitor {
 
 
     /**
-     * 添加执行次数
+     * 添加节点执行次数
+     *
+     * @param chainClass    chainClass
+     * @param nodeClass     nodeClass
+     * @param queueWaitTime 提交到开始执行的排队等待耗时，单位纳秒
+     * @param runTime       执行耗时，单位纳秒
+     */
+    public static void addCount(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, long queueWaitTime, long runTime) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            NodeMonitorInfo nodeMonitorInfo = getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass);
+            nodeMonitorInfo.getQueueWaitLatencyRecorder().record(queueWaitTime);
+            nodeMonitorInfo.getRunLatencyRecorder().record(runTime);
+        }
+    }
+
+    /**
+     * 添加节点执行次数
      *
      * @param chainClass chainClass
      * @param nodeClass  nodeClass
-     * @param time       time
+     * @param time       执行耗时，单位毫秒
+     * @deprecated 不区分排队等待耗时，只记录执行耗时，使用{@link #addCount(Class, Class, long, long)}
      */
+    @Deprecated
     public static void addCount(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, long time) {
-        ThreadUtil.COMMON_CHAIN_THREAD_POOL.execute(() -> {
-            if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass) && time > 0) {
-                Map<Class<? extends AbstractNode>, NodeExecuteInfo> nodeExecuteInfoMap = chainNodeExecuteInfoMap.computeIfAbsent(chainClass, v -> new ConcurrentHashMap<>());
-                NodeExecuteInfo nodeExecuteInfo = nodeExecuteInfoMap.get(nodeClass);
-                if (Objects.isNull(nodeExecuteInfo)) {
-                    nodeExecuteInfo = new NodeExecuteInfo(time, time, time, 1);
-                } else {
-                    nodeExecuteInfo.setTotalTime(nodeExecuteInfo.getTotalTime() + time);
-                    nodeExecuteInfo.setTotalCount(nodeExecuteInfo.getTotalCount() + 1);
-                    if (time < nodeExecuteInfo.getMinTime()) {
-                        nodeExecuteInfo.setMinTime(time);
-                    }
-                    if (time > nodeExecuteInfo.getMaxTime()) {
-                        nodeExecuteInfo.setMaxTime(time);
-                    }
-                }
-                nodeExecuteInfoMap.put(nodeClass, nodeExecuteInfo);
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).getRunLatencyRecorder().record(TimeUnit.MILLISECONDS.toNanos(time));
+        }
+    }
+
+    /**
+     * 添加并行节点分片执行耗时
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param time       分片执行耗时，单位纳秒
+     */
+    public static void addChunkTime(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, long time) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).getChunkLatencyRecorder().record(time);
+        }
+    }
+
+    /**
+     * 添加链路执行次数
+     *
+     * @param chainClass chainClass
+     * @param time       链路耗时，单位纳秒
+     */
+    public static void addChainCount(Class<? extends AbstractChain> chainClass, long time) {
+        if (Objects.nonNull(chainClass)) {
+            getChainMonitorInfo(chainClass).getChainLatencyRecorder().record(time);
+        }
+    }
+
+    /**
+     * 添加节点对冲次数
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     */
+    public static void addHedgeCount(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).getHedgeCount().increment();
+        }
+    }
+
+    /**
+     * 添加对冲副本执行耗时
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param time       对冲副本执行耗时，单位纳秒
+     * @param isWin      对冲副本是否先于主任务成功
+     */
+    public static void addHedgeTime(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, long time, boolean isWin) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            NodeMonitorInfo nodeMonitorInfo = getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass);
+            nodeMonitorInfo.getHedgeTime().add(time);
+            if (isWin) {
+                nodeMonitorInfo.getHedgeWinCount().increment();
             }
-        });
+        }
+    }
+
+    /**
+     * 注册节点舱壁，用于输出占用情况
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param bulkhead   bulkhead
+     */
+    public static void registerBulkhead(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, NodeBulkhead bulkhead) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass) && Objects.nonNull(bulkhead)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).setBulkhead(bulkhead);
+        }
+    }
+
+    /**
+     * 注册节点熔断器，用于输出状态
+     *
+     * @param chainClass     chainClass
+     * @param nodeClass      nodeClass
+     * @param circuitBreaker circuitBreaker
+     */
+    public static void registerCircuitBreaker(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, NodeCircuitBreaker circuitBreaker) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass) && Objects.nonNull(circuitBreaker)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).setCircuitBreaker(circuitBreaker);
+        }
+    }
+
+    /**
+     * 添加节点舱壁拒绝次数
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     */
+    public static void addBulkheadRejectCount(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        if (Objects.nonNull(chainClass) && Objects.nonNull(nodeClass)) {
+            getChainMonitorInfo(chainClass).getNodeMonitorInfo(nodeClass).getBulkheadRejectCount().increment();
+        }
+    }
+
+    /**
+     * 获取链路耗时统计，没有记录返回null
+     *
+     * @param chainClass chainClass
+     * @param window     window
+     * @return LatencyStat
+     */
+    public static LatencyStat getChainLatencyStat(Class<? extends AbstractChain> chainClass, WindowEnum window) {
+        ChainMonitorInfo chainMonitorInfo = chainMonitorInfoMap.get(chainClass);
+        return Objects.isNull(chainMonitorInfo) ? null : chainMonitorInfo.getChainLatencyRecorder().getLatencyStat(window.getMinutes());
+    }
+
+    /**
+     * 获取节点执行耗时统计，不包含排队等待，没有记录返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param window     window
+     * @return LatencyStat
+     */
+    public static LatencyStat getNodeLatencyStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, WindowEnum window) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getRunLatencyRecorder().getLatencyStat(window.getMinutes());
+    }
+
+    /**
+     * 获取节点线程池排队等待耗时统计，没有记录返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param window     window
+     * @return LatencyStat
+     */
+    public static LatencyStat getNodeQueueWaitStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, WindowEnum window) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getQueueWaitLatencyRecorder().getLatencyStat(window.getMinutes());
+    }
+
+    /**
+     * 获取并行节点分片执行耗时统计，没有记录返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @param window     window
+     * @return LatencyStat
+     */
+    public static LatencyStat getNodeChunkLatencyStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass, WindowEnum window) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getChunkLatencyRecorder().getLatencyStat(window.getMinutes());
+    }
+
+    /**
+     * 获取节点对冲统计，没有记录返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @return HedgeStat
+     */
+    public static HedgeStat getNodeHedgeStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getHedgeStat();
+    }
+
+    /**
+     * 获取节点舱壁统计，节点未配置舱壁返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @return BulkheadStat
+     */
+    public static BulkheadStat getNodeBulkheadStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getBulkheadStat();
+    }
+
+    /**
+     * 获取节点熔断统计，节点未配置熔断器返回null
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @return CircuitBreakerStat
+     */
+    public static CircuitBreakerStat getNodeCircuitBreakerStat(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        NodeMonitorInfo nodeMonitorInfo = findNodeMonitorInfo(chainClass, nodeClass);
+        return Objects.isNull(nodeMonitorInfo) ? null : nodeMonitorInfo.getCircuitBreakerStat();
+    }
+
+    /**
+     * 查询节点监控信息，不存在不创建
+     *
+     * @param chainClass chainClass
+     * @param nodeClass  nodeClass
+     * @return NodeMonitorInfo
+     */
+    private static NodeMonitorInfo findNodeMonitorInfo(Class<? extends AbstractChain> chainClass, Class<? extends AbstractNode> nodeClass) {
+        ChainMonitorInfo chainMonitorInfo = chainMonitorInfoMap.get(chainClass);
+        return Objects.isNull(chainMonitorInfo) ? null : chainMonitorInfo.getNodeMonitorInfoMap().get(nodeClass);
+    }
+
+    /**
+     * 获取链路监控信息，已存在时不加锁
+     *
+     * @param chainClass chainClass
+     * @return ChainMonitorInfo
+     */
+    private static ChainMonitorInfo getChainMonitorInfo(Class<? extends AbstractChain> chainClass) {
+        ChainMonitorInfo chainMonitorInfo = chainMonitorInfoMap.get(chainClass);
+        if (Objects.isNull(chainMonitorInfo)) {
+            chainMonitorInfo = chainMonitorInfoMap.computeIfAbsent(chainClass, v -> new ChainMonitorInfo());
+        }
+        return chainMonitorInfo;
     }
 
     /**
      * 开启监控
      */
     private static void openMonitor() {
-        ThreadUtil.CHAIN_MONITOR_SCHEDULER.scheduleAtFixedRate(() -> chainNodeExecuteInfoMap.forEach((chainClass, nodeExecuteInfoMap) -> {
-            StringBuffer logStr = new StringBuffer("process monitorLog chain [" + chainClass.getSimpleName() + "]");
-            nodeExecuteInfoMap.forEach((nodeClass, nodeExecuteInfo) -> {
-                if (Objects.nonNull(nodeExecuteInfo)) {
-                    logStr.append(" node [").append(nodeClass.getSimpleName()).append("] averageTime=").append(nodeExecuteInfo.getTotalTime() / nodeExecuteInfo.getTotalCount())
-                            .append(" minTime=").append(nodeExecuteInfo.getMinTime()).append(" maxTime=").append(nodeExecuteInfo.getMaxTime())
-                            .append(" totalTime=").append(nodeExecuteInfo.getTotalTime()).append(" totalCount=").append(nodeExecuteInfo.getTotalCount());
+        long logTimes = LOG_INTERVAL / ROTATE_INTERVAL;
+        long[] rotateTimes = new long[1];
+        ThreadUtil.CHAIN_MONITOR_SCHEDULER.scheduleAtFixedRate(() -> {
+            try {
+                chainMonitorInfoMap.values().forEach(ChainMonitorInfo::rotate);
+                if (++rotateTimes[0] % logTimes == 0) {
+                    printMonitorLog();
+                }
+            } catch (Exception e) {
+                log.info("process monitorLog fail error=", e);
+            }
+        }, ROTATE_INTERVAL, ROTATE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 输出监控日志
+     */
+    private static void printMonitorLog() {
+        chainMonitorInfoMap.forEach((chainClass, chainMonitorInfo) -> {
+            StringBuilder logStr = new StringBuilder("process monitorLog unit=us chain [").append(chainClass.getSimpleName()).append("]");
+            appendLatencyStat(logStr, chainMonitorInfo.getChainLatencyRecorder());
+            chainMonitorInfo.getNodeMonitorInfoMap().forEach((nodeClass, nodeMonitorInfo) -> {
+                logStr.append(" node [").append(nodeClass.getSimpleName()).append("] run");
+                appendLatencyStat(logStr, nodeMonitorInfo.getRunLatencyRecorder());
+                logStr.append(" queueWait");
+                appendLatencyStat(logStr, nodeMonitorInfo.getQueueWaitLatencyRecorder());
+                LatencyRecorder chunkLatencyRecorder = nodeMonitorInfo.getChunkLatencyRecorder();
+                if (chunkLatencyRecorder.getLatencyStat(WindowEnum.ONE_HOUR.getMinutes()).getCount() > 0) {
+                    logStr.append(" chunk");
+                    appendLatencyStat(logStr, chunkLatencyRecorder);
+                }
+                HedgeStat hedgeStat = nodeMonitorInfo.getHedgeStat();
+                if (hedgeStat.getHedgeCount() > 0) {
+                    logStr.append(" hedge={count=").append(hedgeStat.getHedgeCount()).append(" winCount=").append(hedgeStat.getHedgeWinCount())
+                            .append(" time=").append(toMicros(hedgeStat.getHedgeTime())).append("}");
+                }
+                BulkheadStat bulkheadStat = nodeMonitorInfo.getBulkheadStat();
+                if (Objects.nonNull(bulkheadStat)) {
+                    logStr.append(" bulkhead={maxConcurrent=").append(bulkheadStat.getMaxConcurrent()).append(" concurrentCount=").append(bulkheadStat.getConcurrentCount())
+                            .append(" peakConcurrentCount=").append(bulkheadStat.getPeakConcurrentCount()).append(" rejectCount=").append(bulkheadStat.getRejectCount()).append("}");
+                }
+                CircuitBreakerStat circuitBreakerStat = nodeMonitorInfo.getCircuitBreakerStat();
+                if (Objects.nonNull(circuitBreakerStat)) {
+                    logStr.append(" circuitBreaker={state=").append(circuitBreakerStat.getState()).append(" callCount=").append(circuitBreakerStat.getCallCount())
+                            .append(" failureCount=").append(circuitBreakerStat.getFailureCount()).append(" openCount=").append(circuitBreakerStat.getOpenCount())
+                            .append(" rejectCount=").append(circuitBreakerStat.getRejectCount()).append("}");
                 }
             });
             log.info(logStr.toString());
-            logStr.setLength(0);
-        }), 3600 * 1000, 3600 * 1000, TimeUnit.MILLISECONDS);
+        });
     }
 
+    /**
+     * 拼接各窗口的耗时统计，纳秒转为微秒输出
+     *
+     * @param logStr          logStr
+     * @param latencyRecorder latencyRecorder
+     */
+    private static void appendLatencyStat(StringBuilder logStr, LatencyRecorder latencyRecorder) {
+        for (WindowEnum window : WindowEnum.values()) {
+            LatencyStat latencyStat = latencyRecorder.getLatencyStat(window.getMinutes());
+            logStr.append(" ").append(window.getMsg()).append("={count=").append(latencyStat.getCount())
+                    .append(" averageTime=").append(toMicros(latencyStat.getAverageTime())).append(" p50=").append(toMicros(latencyStat.getP50()))
+                    .append(" p90=").append(toMicros(latencyStat.getP90())).append(" p99=").append(toMicros(latencyStat.getP99()))
+                    .append(" p999=").append(toMicros(latencyStat.getP999())).append(" maxTime=").append(toMicros(latencyStat.getMaxTime())).append("}");
+        }
+    }
 
-    @AllArgsConstructor
-    @NoArgsConstructor
-    @Data
-    static class NodeExecuteInfo {
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+
+    /**
+     * 链路监控信息
+     */
+    @Getter
+    static class ChainMonitorInfo {
 
         /**
-         * 最大耗时
+         * 链路耗时
          */
-        private long maxTime;
+        private final LatencyRecorder chainLatencyRecorder = new LatencyRecorder();
 
         /**
-         * 最小耗时
+         * 节点监控信息
          */
-        private long minTime;
+        private final Map<Class<? extends AbstractNode>, NodeMonitorInfo> nodeMonitorInfoMap = new ConcurrentHashMap<>();
+
+        private NodeMonitorInfo getNodeMonitorInfo(Class<? extends AbstractNode> nodeClass) {
+            NodeMonitorInfo nodeMonitorInfo = nodeMonitorInfoMap.get(nodeClass);
+            if (Objects.isNull(nodeMonitorInfo)) {
+                nodeMonitorInfo = nodeMonitorInfoMap.computeIfAbsent(nodeClass, v -> new NodeMonitorInfo());
+            }
+            return nodeMonitorInfo;
+        }
+
+        private void rotate() {
+            chainLatencyRecorder.rotate();
+            nodeMonitorInfoMap.values().forEach(NodeMonitorInfo::rotate);
+        }
+
+    }
+
+    /**
+     * 节点监控信息
+     */
+    @Getter
+    static class NodeMonitorInfo {
 
         /**
-         * 总耗时
+         * 执行耗时
          */
-        private long totalTime;
+        private final LatencyRecorder runLatencyRecorder = new LatencyRecorder();
 
         /**
-         * 总次数
+         * 线程池排队等待耗时
          */
-        private long totalCount;
+        private final LatencyRecorder queueWaitLatencyRecorder = new LatencyRecorder();
+
+        /**
+         * 并行节点分片执行耗时
+         */
+        private final LatencyRecorder chunkLatencyRecorder = new LatencyRecorder();
+
+        /**
+         * 对冲次数
+         */
+        private final LongAdder hedgeCount = new LongAdder();
+
+        /**
+         * 对冲副本成功次数
+         */
+        private final LongAdder hedgeWinCount = new LongAdder();
+
+        /**
+         * 对冲副本执行耗时
+         */
+        private final LongAdder hedgeTime = new LongAdder();
+
+        /**
+         * 节点舱壁，未配置为null
+         */
+        @Setter
+        private volatile NodeBulkhead bulkhead;
+
+        /**
+         * 舱壁拒绝次数
+         */
+        private final LongAdder bulkheadRejectCount = new LongAdder();
+
+        /**
+         * 节点熔断器，未配置为null
+         */
+        @Setter
+        private volatile NodeCircuitBreaker circuitBreaker;
+
+        private HedgeStat getHedgeStat() {
+            HedgeStat hedgeStat = new HedgeStat();
+            hedgeStat.setHedgeCount(hedgeCount.sum());
+            hedgeStat.setHedgeWinCount(hedgeWinCount.sum());
+            hedgeStat.setHedgeTime(hedgeTime.sum());
+            return hedgeStat;
+        }
+
+        private BulkheadStat getBulkheadStat() {
+            NodeBulkhead currentBulkhead = bulkhead;
+            if (Objects.isNull(currentBulkhead)) {
+                return null;
+            }
+
+            BulkheadStat bulkheadStat = new BulkheadStat();
+            bulkheadStat.setMaxConcurrent(currentBulkhead.getMaxConcurrent());
+            bulkheadStat.setConcurrentCount(currentBulkhead.getConcurrentCount());
+            bulkheadStat.setPeakConcurrentCount(currentBulkhead.getPeakConcurrentCount());
+            bulkheadStat.setRejectCount(bulkheadRejectCount.sum());
+            return bulkheadStat;
+        }
+
+        private CircuitBreakerStat getCircuitBreakerStat() {
+            NodeCircuitBreaker currentCircuitBreaker = circuitBreaker;
+            if (Objects.isNull(currentCircuitBreaker)) {
+                return null;
+            }
+
+            CircuitBreakerStat circuitBreakerStat = new CircuitBreakerStat();
+            circuitBreakerStat.setState(currentCircuitBreaker.getState());
+            circuitBreakerStat.setCallCount(currentCircuitBreaker.getCallCount());
+            circuitBreakerStat.setFailureCount(currentCircuitBreaker.getFailureCount());
+            circuitBreakerStat.setOpenCount(currentCircuitBreaker.getOpenCount());
+            circuitBreakerStat.setRejectCount(currentCircuitBreaker.getRejectCount());
+            return circuitBreakerStat;
+        }
+
+        private void rotate() {
+            runLatencyRecorder.rotate();
+            queueWaitLatencyRecorder.rotate();
+            chunkLatencyRecorder.rotate();
+        }
+
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public enum WindowEnum {
+
+        ONE_MINUTE(1, "1m"),
+        FIVE_MINUTES(5, "5m"),
+        ONE_HOUR(60, "1h"),
+        ;
+
+        private final int minutes;
+        private final String msg;
 
     }
 
-}
\ No newline at end of file
+}
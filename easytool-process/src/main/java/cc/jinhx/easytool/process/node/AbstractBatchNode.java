@@ -0,0 +1,86 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 抽象批量节点
+ * <p>
+ * 批量执行链路时，同时到达该节点的上下文一次性交给executeBatch执行，例如合并为一次IN查询，代替每个上下文一次查询。
+ * 单个执行时executeBatch只收到一个上下文。executeBatch抛出异常时本批所有上下文的该节点都失败，按各自的失败处理。
+ * 批量执行期间任意上下文的节点超时或链路中断都会中断执行线程
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Slf4j
+public abstract class AbstractBatchNode<T> extends AbstractNode<T> {
+
+    /**
+     * 默认最大批量
+     */
+    private static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /**
+     * 获取最大批量，等待的上下文达到该数量时不再等待其他上下文
+     *
+     * @return 最大批量
+     */
+    public int getMaxBatchSize() {
+        return DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    /**
+     * 批量执行方法，只包含不跳过的上下文
+     *
+     * @param chainContexts chainContexts
+     */
+    protected abstract void executeBatch(List<ChainContext<T>> chainContexts);
+
+    @Override
+    protected final void execute(ChainContext<T> chainContext) {
+        executeBatch(Collections.singletonList(chainContext));
+    }
+
+    /**
+     * 批量通用执行方法
+     *
+     * @param chainContexts chainContexts
+     * @param chainClass    chainClass
+     * @return 执行耗时，单位毫秒
+     */
+    public long doExecuteBatch(@NonNull List<ChainContext<T>> chainContexts, Class<? extends AbstractChain> chainClass) {
+        long startTime = System.nanoTime();
+
+        List<ChainContext<T>> executeChainContexts = new ArrayList<>(chainContexts.size());
+        boolean[] isSkips = new boolean[chainContexts.size()];
+        for (int i = 0; i < chainContexts.size(); i++) {
+            isSkips[i] = isSkip(chainContexts.get(i));
+            if (!isSkips[i]) {
+                executeChainContexts.add(chainContexts.get(i));
+            }
+        }
+        if (!executeChainContexts.isEmpty()) {
+            executeBatch(executeChainContexts);
+        }
+
+        long time = System.nanoTime() - startTime;
+
+        for (int i = 0; i < chainContexts.size(); i++) {
+            ChainContext<T> chainContext = chainContexts.get(i);
+            if (chainContext.isLogEnabled()) {
+                log.info("process nodeLog " + chainContext.getLogStr() + " chain [" + chainClass.getSimpleName() + "] node [" + this.getClass().getSimpleName()
+                        + "] execute batch success skip=" + isSkips[i] + " batchSize=" + executeChainContexts.size() + " time=" + TimeUnit.NANOSECONDS.toMillis(time));
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(time);
+    }
+
+}
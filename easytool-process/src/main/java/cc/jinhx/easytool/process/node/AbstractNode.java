@@ -9,6 +9,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 抽象节点
@@ -42,35 +43,37 @@ public abstract class AbstractNode<T> {
      */
     protected abstract void execute(ChainContext<T> chainContext);
 
+    /**
+     * 是否内联执行，内联节点在触发它的节点线程上直接执行，不提交线程池也不设置节点超时，适用于耗时极短的节点
+     *
+     * @return 是否内联执行
+     */
+    public boolean isInline() {
+        return false;
+    }
+
     /**
      * 通用执行方法
      *
      * @param chainContext chainContext
      * @param chainClass   chainClass
-     * @return long
+     * @return 执行耗时，单位毫秒
      */
     public long doExecute(@NonNull ChainContext<T> chainContext, Class<? extends AbstractChain> chainClass) {
-        StringBuilder logInfo = new StringBuilder();
-        logInfo.append("process nodeLog ").append(chainContext.getLogStr()).append(" chain ").append("[").append(chainClass.getSimpleName())
-                .append("]").append(" node ").append("[").append(this.getClass().getSimpleName()).append("]").append(" execute success");
-
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
-        if (isSkip(chainContext)) {
-            logInfo.append(" skip=").append("true");
-        } else {
-            logInfo.append(" skip=").append("false");
+        boolean isSkip = isSkip(chainContext);
+        if (!isSkip) {
             execute(chainContext);
         }
 
-        long time = System.currentTimeMillis() - startTime;
+        long time = System.nanoTime() - startTime;
 
-        chainContext.getNodeTimeMap().put(this.getClass(), time);
-
-        logInfo.append(" time=").append(time);
-        log.info(logInfo.toString());
-        logInfo.setLength(0);
-        return time;
+        if (chainContext.isLogEnabled()) {
+            log.info("process nodeLog " + chainContext.getLogStr() + " chain [" + chainClass.getSimpleName() + "] node [" + this.getClass().getSimpleName()
+                    + "] execute success skip=" + isSkip + " time=" + TimeUnit.NANOSECONDS.toMillis(time));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(time);
     }
 
 
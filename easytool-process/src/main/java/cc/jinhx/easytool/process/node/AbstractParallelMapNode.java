@@ -0,0 +1,257 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.ProcessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.monitor.Monitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 抽象并行节点
+ * <p>
+ * 将上下文中的集合按分片大小切分为子列表视图，分片在节点线程和链路线程池的辅助线程上并行执行，同时执行的分片数量不超过最大并发数，
+ * 全部完成后按集合原有顺序合并结果。节点线程自己也执行分片，线程池排队或拒绝时由节点线程执行剩余分片，不会因线程池饱和而等待。
+ * 任意分片失败后不再开始新的分片，节点线程结束当前分片后抛出第一个异常，按节点失败处理。
+ * 节点超时或链路中断时中断正在执行分片的辅助线程，节点的超时、重试和对冲对整个节点生效。开启监控时记录每个分片的执行耗时
+ *
+ * @param <T> 上下文类型
+ * @param <E> 集合元素类型
+ * @param <R> 结果类型
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class AbstractParallelMapNode<T, E, R> extends AbstractNode<T> {
+
+    /**
+     * 默认分片大小，分片过小时领取和记录分片的开销超过分片本身
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * 默认最大并发数
+     */
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    /**
+     * 获取分片大小，每个分片包含的元素数量，必须大于0
+     *
+     * @return 分片大小
+     */
+    public int getChunkSize() {
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * 获取最大并发数，包括节点线程，为1时在节点线程上依次执行
+     *
+     * @return 最大并发数
+     */
+    public int getMaxConcurrency() {
+        return DEFAULT_MAX_CONCURRENCY;
+    }
+
+    /**
+     * 获取需要并行处理的集合
+     *
+     * @param chainContext chainContext
+     * @return 集合
+     */
+    protected abstract List<E> getItems(ChainContext<T> chainContext);
+
+    /**
+     * 处理一个分片，会被多个线程同时调用
+     *
+     * @param chainContext chainContext
+     * @param chunk        分片，集合的子列表视图，不能修改
+     * @return 分片结果，返回null视为没有结果
+     */
+    protected abstract List<R> map(ChainContext<T> chainContext, List<E> chunk);
+
+    /**
+     * 合并结果，在节点线程上执行
+     *
+     * @param chainContext chainContext
+     * @param results      按集合原有顺序拼接的所有分片结果
+     */
+    protected abstract void merge(ChainContext<T> chainContext, List<R> results);
+
+    @Override
+    protected final void execute(ChainContext<T> chainContext) {
+        int chunkSize = getChunkSize();
+        if (chunkSize <= 0) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_PARALLEL_CHUNK_SIZE.getMsg() + "=" + this.getClass().getSimpleName());
+        }
+
+        // 分片是集合的子列表视图，不复制元素，非随机访问的集合先复制一次
+        List<E> items = getItems(chainContext);
+        if (Objects.isNull(items)) {
+            items = Collections.emptyList();
+        } else if (!(items instanceof RandomAccess)) {
+            items = new ArrayList<>(items);
+        }
+        List<List<E>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        List<R>[] chunkResults = newChunkResults(chunks.size());
+        ParallelWorkers workers = new ParallelWorkers(chunks.size());
+
+        // 不是通过链路执行时没有线程池，在节点线程上依次执行
+        Executor parallelExecutor = chainContext.parallelExecutor();
+        int helperCount = Objects.isNull(parallelExecutor) ? 0 : Math.min(getMaxConcurrency(), chunks.size()) - 1;
+        for (int i = 0; i < helperCount; i++) {
+            try {
+                parallelExecutor.execute(() -> workers.runHelper(() -> runChunks(chainContext, chunks, chunkResults, workers)));
+            } catch (RejectedExecutionException e) {
+                // 线程池已满时按已提交的并发数执行
+                break;
+            }
+        }
+
+        boolean isSuccess = false;
+        try {
+            runChunks(chainContext, chunks, chunkResults, workers);
+            workers.await();
+            isSuccess = true;
+        } finally {
+            if (!isSuccess) {
+                workers.abort();
+            }
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (List<R> chunkResult : chunkResults) {
+            if (Objects.nonNull(chunkResult)) {
+                results.addAll(chunkResult);
+            }
+        }
+        merge(chainContext, results);
+    }
+
+    /**
+     * 循环领取并执行分片，直到分片领完或已失败
+     *
+     * @param chainContext chainContext
+     * @param chunks       chunks
+     * @param chunkResults chunkResults
+     * @param workers      workers
+     */
+    private void runChunks(ChainContext<T> chainContext, List<List<E>> chunks, List<R>[] chunkResults, ParallelWorkers workers) {
+        int index;
+        while ((index = workers.nextChunk()) >= 0) {
+            long startTime = System.nanoTime();
+            chunkResults[index] = map(chainContext, chunks.get(index));
+            if (chainContext.monitorEnabled()) {
+                Monitor.addChunkTime(chainContext.chainClass(), this.getClass(), System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<R>[] newChunkResults(int size) {
+        return (List<R>[]) new List[size];
+    }
+
+
+    /**
+     * 并行节点的分片领取和辅助线程
+     */
+    private static class ParallelWorkers {
+
+        private final int chunkCount;
+
+        // 以下字段只在持有当前对象的锁时访问
+        private int nextIndex;
+
+        private boolean isAborted;
+
+        private RuntimeException failure;
+
+        private final Set<Thread> helperThreads = new HashSet<>();
+
+
+        private ParallelWorkers(int chunkCount) {
+            this.chunkCount = chunkCount;
+        }
+
+        /**
+         * 领取下一个分片
+         *
+         * @return 分片下标，已领完、已失败或已终止时返回-1
+         */
+        private synchronized int nextChunk() {
+            if (isAborted || Objects.nonNull(failure) || nextIndex >= chunkCount) {
+                return -1;
+            }
+            return nextIndex++;
+        }
+
+        /**
+         * 辅助线程执行，开始前已领完的直接结束，不占用线程池
+         *
+         * @param task task
+         */
+        private void runHelper(Runnable task) {
+            Thread thread = Thread.currentThread();
+            synchronized (this) {
+                if (isAborted || Objects.nonNull(failure) || nextIndex >= chunkCount) {
+                    return;
+                }
+                helperThreads.add(thread);
+            }
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                synchronized (this) {
+                    if (Objects.isNull(failure)) {
+                        failure = e instanceof RuntimeException ? (RuntimeException) e : new ProcessException(ProcessException.MsgEnum.NODE_PARALLEL_FAIL, e);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    helperThreads.remove(thread);
+                    // 在锁内清除中断标记，终止时的中断不会带到线程池的下一个任务
+                    Thread.interrupted();
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * 等待正在执行分片的辅助线程结束
+         */
+        private synchronized void await() {
+            while (!helperThreads.isEmpty()) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ProcessException(ProcessException.MsgEnum.NODE_PARALLEL_FAIL, e);
+                }
+            }
+
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+        }
+
+        /**
+         * 终止，不再开始新的分片，中断正在执行分片的辅助线程
+         */
+        private synchronized void abort() {
+            isAborted = true;
+            helperThreads.forEach(Thread::interrupt);
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.chain.ChainContext;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 抽象流式节点
+ * <p>
+ * 流式节点之间通过有界通道传递数据，下游流式节点在数据源节点开始执行时就开始执行，边产生边消费，上下游重叠执行，
+ * 通道写满时阻塞上游，内存占用只与通道容量有关。没有数据源的源节点继承{@link AbstractStreamSourceNode}，
+ * 有数据源的处理节点继承{@link AbstractStreamProcessorNode}，不能直接继承该类。没有下游流式节点时发送的数据直接丢弃。
+ * 一个流式节点最多只能作为一个流式节点的数据源，不支持重试、对冲和内联，失败时上下游通道一起失败。
+ * 有上游或下游流式节点的节点在不排队的流式节点线程池上执行，舱壁指定了独立线程池时使用独立线程池
+ *
+ * @param <T> 上下文类型
+ * @param <I> 输入数据类型，源节点为Void
+ * @param <O> 输出数据类型，没有下游时为Void
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class AbstractStreamNode<T, I, O> extends AbstractNode<T> {
+
+    /**
+     * 默认输出通道容量
+     */
+    private static final int DEFAULT_CHANNEL_CAPACITY = 256;
+
+
+    /**
+     * 只能通过源节点和处理节点继承
+     */
+    AbstractStreamNode() {
+    }
+
+    /**
+     * 获取数据源节点，源节点返回null
+     *
+     * @return 数据源节点
+     */
+    public abstract Class<? extends AbstractStreamNode> getStreamSourceNode();
+
+    /**
+     * 获取依赖节点集合，默认只依赖数据源节点，覆盖时需要包含数据源节点
+     *
+     * @return 依赖节点集合
+     */
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        Class<? extends AbstractStreamNode> streamSourceNode = getStreamSourceNode();
+        return Objects.isNull(streamSourceNode) ? null : Collections.singleton(streamSourceNode);
+    }
+
+    /**
+     * 获取输出通道容量
+     *
+     * @return 输出通道容量
+     */
+    public int getChannelCapacity() {
+        return DEFAULT_CHANNEL_CAPACITY;
+    }
+
+    /**
+     * 执行流式节点
+     *
+     * @param chainContext chainContext
+     * @param emitter      发送数据到下游，通道已满时阻塞
+     */
+    abstract void executeStream(ChainContext<T> chainContext, Consumer<O> emitter);
+
+    @Override
+    protected final void execute(ChainContext<T> chainContext) {
+        StreamChannel<O> outputChannel = chainContext.getStreamChannel(this.getClass());
+        Consumer<O> emitter = Objects.isNull(outputChannel) ? item -> {
+        } : outputChannel::put;
+        executeStream(chainContext, emitter);
+    }
+
+}
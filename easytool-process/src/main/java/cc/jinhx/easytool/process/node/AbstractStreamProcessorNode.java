@@ -0,0 +1,134 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.ProcessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 抽象流式处理节点
+ * <p>
+ * 读取数据源节点的输出通道，在process中逐条处理并发送到下游流式节点，可以按并行度同时处理多条数据。
+ * getStreamSourceNode必须返回数据源节点
+ *
+ * @param <T> 上下文类型
+ * @param <I> 输入数据类型
+ * @param <O> 输出数据类型，没有下游时为Void
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class AbstractStreamProcessorNode<T, I, O> extends AbstractStreamNode<T, I, O> {
+
+    /**
+     * 获取并行度，大于1时额外使用流式节点线程池的线程同时处理
+     *
+     * @return 并行度
+     */
+    public int getParallelism() {
+        return 1;
+    }
+
+    /**
+     * 处理一条数据，并行度大于1时会被多个线程同时调用
+     *
+     * @param chainContext chainContext
+     * @param item         item
+     * @param emitter      发送数据到下游，通道已满时阻塞
+     */
+    protected abstract void process(ChainContext<T> chainContext, I item, Consumer<O> emitter);
+
+    @Override
+    final void executeStream(ChainContext<T> chainContext, Consumer<O> emitter) {
+        StreamChannel<I> inputChannel = chainContext.getStreamChannel(getStreamSourceNode());
+        int parallelism = getParallelism();
+        if (parallelism <= 1) {
+            consume(chainContext, inputChannel, emitter);
+            return;
+        }
+
+        // 当前线程处理完后等待已开始的辅助线程结束，未开始的辅助线程不再处理，不占用线程池等待
+        StreamWorkers workers = new StreamWorkers();
+        Executor streamExecutor = chainContext.streamExecutor();
+        for (int i = 1; i < parallelism; i++) {
+            try {
+                streamExecutor.execute(() -> workers.run(() -> consume(chainContext, inputChannel, emitter), inputChannel));
+            } catch (RejectedExecutionException e) {
+                // 线程池已满时按已提交的并行度处理
+                break;
+            }
+        }
+
+        consume(chainContext, inputChannel, emitter);
+        workers.await();
+    }
+
+    /**
+     * 读取输入通道直到结束
+     *
+     * @param chainContext chainContext
+     * @param inputChannel inputChannel
+     * @param emitter      emitter
+     */
+    private void consume(ChainContext<T> chainContext, StreamChannel<I> inputChannel, Consumer<O> emitter) {
+        I item;
+        while (Objects.nonNull(item = inputChannel.take())) {
+            process(chainContext, item, emitter);
+        }
+    }
+
+
+    /**
+     * 处理节点的辅助线程
+     */
+    private static class StreamWorkers {
+
+        private final AtomicInteger activeCount = new AtomicInteger();
+
+        private volatile boolean isDone;
+
+        private volatile RuntimeException failure;
+
+        private void run(Runnable task, StreamChannel<?> inputChannel) {
+            activeCount.incrementAndGet();
+            try {
+                if (!isDone) {
+                    task.run();
+                }
+            } catch (RuntimeException e) {
+                // 输入通道失败，当前线程读取时抛出，上游写入时也抛出
+                failure = e;
+                inputChannel.fail(e);
+            } finally {
+                if (activeCount.decrementAndGet() == 0) {
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private void await() {
+            isDone = true;
+            synchronized (this) {
+                while (activeCount.get() > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_FAIL, e);
+                    }
+                }
+            }
+
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+        }
+
+    }
+
+}
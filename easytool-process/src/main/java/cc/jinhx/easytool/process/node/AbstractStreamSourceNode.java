@@ -0,0 +1,42 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.chain.ChainContext;
+
+import java.util.function.Consumer;
+
+/**
+ * 抽象流式源节点
+ * <p>
+ * 没有数据源，在produce中产生数据发送到下游流式节点
+ *
+ * @param <T> 上下文类型
+ * @param <O> 输出数据类型，没有下游时为Void
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public abstract class AbstractStreamSourceNode<T, O> extends AbstractStreamNode<T, Void, O> {
+
+    /**
+     * 源节点没有数据源节点
+     *
+     * @return null
+     */
+    @Override
+    public final Class<? extends AbstractStreamNode> getStreamSourceNode() {
+        return null;
+    }
+
+    /**
+     * 产生数据
+     *
+     * @param chainContext chainContext
+     * @param emitter      发送数据到下游，通道已满时阻塞
+     */
+    protected abstract void produce(ChainContext<T> chainContext, Consumer<O> emitter);
+
+    @Override
+    final void executeStream(ChainContext<T> chainContext, Consumer<O> emitter) {
+        produce(chainContext, emitter);
+    }
+
+}
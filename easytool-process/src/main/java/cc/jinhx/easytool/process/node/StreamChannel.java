@@ -0,0 +1,191 @@
+package cc.jinhx.easytool.process.node;
+
+import cc.jinhx.easytool.process.ProcessException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 流式节点之间的有界通道
+ * <p>
+ * 上游流式节点写入，下游流式节点读取，写满时阻塞上游，形成背压，内存占用只与通道容量有关。
+ * 上游所有数据写完后关闭，下游读完剩余数据后读到结束。任意一端失败时通道失败，清空数据并唤醒两端，之后的读写都抛出异常。
+ * 下游不再读取时丢弃，之后上游的写入直接忽略。每次链路执行创建一个，由链路负责关闭、失败和丢弃
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+public class StreamChannel<E> {
+
+    /**
+     * 容量
+     */
+    @Getter
+    private final int capacity;
+
+    private final ArrayDeque<E> items;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    // 以下字段只在持有锁时访问
+    private boolean closed;
+
+    private boolean discarded;
+
+    private Throwable failure;
+
+
+    private StreamChannel(int capacity) {
+        this.capacity = capacity;
+        this.items = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * 创建通道
+     *
+     * @param capacity 容量，大于0
+     * @return StreamChannel
+     */
+    public static <E> StreamChannel<E> create(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        return new StreamChannel<>(capacity);
+    }
+
+    /**
+     * 写入一条数据，通道已满时阻塞，已丢弃时忽略
+     *
+     * @param item item
+     */
+    public void put(@NonNull E item) {
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (items.size() >= capacity && Objects.isNull(failure) && !discarded) {
+                    notFull.await();
+                }
+                checkFailure();
+                if (discarded) {
+                    return;
+                }
+                if (closed) {
+                    throw new IllegalStateException("stream channel has been closed");
+                }
+
+                items.addLast(item);
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_FAIL, e);
+        }
+    }
+
+    /**
+     * 读取一条数据，通道为空时阻塞
+     *
+     * @return 数据，已关闭且读完时返回null
+     */
+    public E take() {
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (items.isEmpty() && !closed && Objects.isNull(failure)) {
+                    notEmpty.await();
+                }
+                checkFailure();
+
+                E item = items.pollFirst();
+                if (Objects.nonNull(item)) {
+                    notFull.signal();
+                }
+                return item;
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_FAIL, e);
+        }
+    }
+
+    /**
+     * 当前数据数量
+     *
+     * @return 数据数量
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 上游写完，关闭通道，下游读完剩余数据后结束
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 通道失败，清空数据并唤醒两端，只有第一次调用生效
+     *
+     * @param cause 失败原因
+     */
+    public void fail(@NonNull Throwable cause) {
+        lock.lock();
+        try {
+            if (Objects.nonNull(failure)) {
+                return;
+            }
+
+            failure = cause;
+            items.clear();
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 下游不再读取，清空数据，之后上游的写入直接忽略
+     */
+    public void discard() {
+        lock.lock();
+        try {
+            discarded = true;
+            items.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkFailure() {
+        if (Objects.nonNull(failure)) {
+            throw new ProcessException(ProcessException.MsgEnum.NODE_STREAM_FAIL, failure);
+        }
+    }
+
+}
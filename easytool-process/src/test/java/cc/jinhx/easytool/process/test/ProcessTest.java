@@ -5,9 +5,30 @@ import cc.jinhx.easytool.process.SpringContextConfig;
 import cc.jinhx.easytool.process.ThreadUtil;
 import cc.jinhx.easytool.process.chain.ChainContext;
 import cc.jinhx.easytool.process.chain.ChainHandler;
+import cc.jinhx.easytool.process.chain.NodeCircuitBreaker;
+import cc.jinhx.easytool.process.chain.NodeTimeline;
+import cc.jinhx.easytool.process.monitor.LatencyStat;
+import cc.jinhx.easytool.process.monitor.Monitor;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.chain.TestAdaptiveTimeoutChain;
+import cc.jinhx.easytool.process.test.chain.TestAdmissionControlChain;
+import cc.jinhx.easytool.process.test.chain.TestBatchChain;
+import cc.jinhx.easytool.process.test.chain.TestBulkheadChain;
 import cc.jinhx.easytool.process.test.chain.TestChain;
+import cc.jinhx.easytool.process.test.chain.TestCircuitBreakerChain;
+import cc.jinhx.easytool.process.test.chain.TestConcurrencyLimitChain;
+import cc.jinhx.easytool.process.test.chain.TestHedgeChain;
+import cc.jinhx.easytool.process.test.chain.TestParallelMapChain;
+import cc.jinhx.easytool.process.test.chain.TestPartialResultChain;
+import cc.jinhx.easytool.process.test.chain.TestRetryChain;
+import cc.jinhx.easytool.process.test.chain.TestStreamChain;
 import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestBatchNode;
+import cc.jinhx.easytool.process.test.node.TestCircuitBreakerNode;
+import cc.jinhx.easytool.process.test.node.TestGetDataANode;
+import cc.jinhx.easytool.process.test.node.TestStreamSourceNode;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +36,17 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * ProcessTest
@@ -32,6 +62,39 @@ public class ProcessTest {
     @Autowired
     private TestChain testChain;
 
+    @Autowired
+    private TestAdaptiveTimeoutChain testAdaptiveTimeoutChain;
+
+    @Autowired
+    private TestHedgeChain testHedgeChain;
+
+    @Autowired
+    private TestBulkheadChain testBulkheadChain;
+
+    @Autowired
+    private TestAdmissionControlChain testAdmissionControlChain;
+
+    @Autowired
+    private TestConcurrencyLimitChain testConcurrencyLimitChain;
+
+    @Autowired
+    private TestCircuitBreakerChain testCircuitBreakerChain;
+
+    @Autowired
+    private TestRetryChain testRetryChain;
+
+    @Autowired
+    private TestPartialResultChain testPartialResultChain;
+
+    @Autowired
+    private TestStreamChain testStreamChain;
+
+    @Autowired
+    private TestParallelMapChain testParallelMapChain;
+
+    @Autowired
+    private TestBatchChain testBatchChain;
+
     @Test
     public void test1() {
 //        ProcessResult<DemoContext> processResult = new AbstractHandler<DemoContext>() {
@@ -131,4 +194,388 @@ public class ProcessTest {
         System.out.println(time);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test8() {
+        // TestChain的节点B会超时，使用只有一个节点的链路校验结果
+        CompletableFuture<ProcessResult<TestContext>> future = testAdmissionControlChain.executeAsync(buildTestContext("req"));
+        ProcessResult<TestContext> processResult = future.join();
+        Assert.assertTrue(processResult.isSuccess());
+        Assert.assertEquals("dataE", processResult.getData().getDataE());
+    }
+
+    @Test
+    public void test9() {
+        CompletableFuture<ProcessResult<String>> future = ChainHandler.executeAsync(TestAdmissionControlChain.class, buildTestContext("req"), TestContext::getDataE);
+        ProcessResult<String> processResult = future.join();
+        Assert.assertTrue(processResult.isSuccess());
+        Assert.assertEquals("dataE", processResult.getData());
+    }
+
+    @Test
+    public void test10() throws Exception {
+        ProcessResult<TestContext> processResult = testAdmissionControlChain.execute(buildTestContext("req"), ThreadUtil.getVirtualChainThreadPool());
+        Assert.assertTrue(processResult.isSuccess());
+
+        // Java 21以下回退为公共链路线程池，编译版本为Java 8，通过反射判断是否为虚拟线程
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, ThreadUtil.getVirtualChainThreadPool()).join();
+        if (ThreadUtil.isSupportVirtualThread()) {
+            Assert.assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        } else {
+            Assert.assertTrue(thread.getName().startsWith("asyncCommonChain_thread_"));
+        }
+    }
+
+    @Test
+    public void test11() throws InterruptedException {
+        // future先于超时完成时取消定时，时间轮处理取消后不再保留定时，不需要等到超时
+        long pendingCount = ThreadUtil.getTimingFailPendingCount();
+        for (int i = 0; i < 1000; i++) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            CompletableFuture<Void> resultFuture = ThreadUtil.withinTime(future, Duration.ofSeconds(10));
+            future.complete(null);
+            Assert.assertFalse(resultFuture.isCompletedExceptionally());
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (ThreadUtil.getTimingFailPendingCount() > pendingCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(ThreadUtil.getTimingFailPendingCount() <= pendingCount);
+    }
+
+    @Test
+    public void test12() {
+        for (int i = 0; i < 10; i++) {
+            ChainContext<TestContext> chainContext = ChainContext.create(TestContext.class);
+            chainContext.getContextInfo().setReq("req");
+            testChain.execute(chainContext);
+        }
+        // 包含当前未满的一分钟
+        assertLatencyStat(Monitor.getChainLatencyStat(TestChain.class, Monitor.WindowEnum.ONE_MINUTE), true);
+        // 单位纳秒，节点排队等待和执行耗时分开统计，排队等待可能为0
+        assertLatencyStat(Monitor.getNodeLatencyStat(TestChain.class, TestGetDataANode.class, Monitor.WindowEnum.ONE_HOUR), true);
+        assertLatencyStat(Monitor.getNodeQueueWaitStat(TestChain.class, TestGetDataANode.class, Monitor.WindowEnum.ONE_HOUR), false);
+    }
+
+    @Test
+    public void test13() {
+        ChainContext<TestContext> chainContext = ChainContext.create(TestContext.class, "req", "test13");
+        chainContext.getContextInfo().setReq("req");
+        testChain.execute(chainContext);
+        // 链路结束后时间线已冻结，单位纳秒，未结束的节点结束时间为-1
+        NodeTimeline nodeTimeline = chainContext.getNodeTimeline();
+        Assert.assertTrue(nodeTimeline.isFrozen());
+        Assert.assertTrue(nodeTimeline.isNodeCompleted(TestGetDataANode.class));
+        List<NodeTimeline.NodeTime> nodeTimes = nodeTimeline.getNodeTimes();
+        Assert.assertFalse(nodeTimes.isEmpty());
+        Map<Class<? extends AbstractNode>, Long> nodeTimeMap = chainContext.getNodeTimeMap();
+        for (NodeTimeline.NodeTime nodeTime : nodeTimes) {
+            Assert.assertTrue(nodeTime.getStartTime() >= 0);
+            Assert.assertTrue(nodeTime.getEndTime() == -1 || nodeTime.getStartTime() <= nodeTime.getEndTime());
+            Assert.assertTrue(nodeTime.getQueueWaitTime() >= 0);
+            // 节点耗时由时间线生成，只包含已结束的节点
+            Assert.assertEquals(nodeTime.getEndTime() >= 0, nodeTimeMap.containsKey(nodeTime.getNodeClass()));
+        }
+    }
+
+    @Test
+    public void test14() {
+        // 样本不足时使用最大超时时间
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(100L);
+        Assert.assertTrue(testAdaptiveTimeoutChain.execute(chainContext).isSuccess());
+
+        // 积累足够样本并超过重新计算间隔
+        long endTime = System.currentTimeMillis() + 1200;
+        for (int i = 0; i < 150 || System.currentTimeMillis() < endTime; i++) {
+            chainContext = buildTestContext("req");
+            chainContext.getContextInfo().setSleepTime(1L);
+            testAdaptiveTimeoutChain.execute(chainContext);
+        }
+
+        // 按耗时分位数计算的超时时间远小于最大超时时间
+        chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(300L);
+        long startTime = System.currentTimeMillis();
+        ProcessResult<TestContext> processResult = testAdaptiveTimeoutChain.execute(chainContext);
+        Assert.assertEquals(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), processResult.getCode());
+        Assert.assertTrue(System.currentTimeMillis() - startTime < 200);
+    }
+
+    @Test
+    public void test15() {
+        long startTime = System.currentTimeMillis();
+        ProcessResult<TestContext> processResult = testHedgeChain.execute(buildTestContext("req"));
+
+        // 首次执行较慢，对冲执行先完成
+        Assert.assertTrue(processResult.isSuccess());
+        Assert.assertEquals("hedge", processResult.getData().getDataA());
+        Assert.assertTrue(System.currentTimeMillis() - startTime < 200);
+    }
+
+    @Test
+    public void test16() throws InterruptedException {
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(200L);
+        CompletableFuture<ProcessResult<TestContext>> future = testBulkheadChain.executeAsync(chainContext);
+        Thread.sleep(50);
+
+        // 舱壁已满时拒绝
+        ProcessResult<TestContext> processResult = testBulkheadChain.execute(buildTestContext("req"));
+        Assert.assertEquals(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), processResult.getCode());
+        Assert.assertTrue(future.join().isSuccess());
+
+        // 释放后可以执行
+        Assert.assertTrue(testBulkheadChain.execute(buildTestContext("req")).isSuccess());
+    }
+
+    @Test
+    public void test17() throws InterruptedException {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        try {
+            ChainContext<TestContext> chainContext = buildTestContext("req");
+            chainContext.getContextInfo().setSleepTime(100L);
+            CompletableFuture<ProcessResult<TestContext>> future = testAdmissionControlChain.executeAsync(chainContext, threadPoolExecutor);
+            Thread.sleep(20);
+
+            // 线程池拒绝时返回拒绝失败
+            ProcessResult<TestContext> processResult = testAdmissionControlChain.execute(buildTestContext("req"), threadPoolExecutor);
+            Assert.assertEquals(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), processResult.getCode());
+            Assert.assertTrue(future.join().isSuccess());
+        } finally {
+            threadPoolExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test18() {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+        try {
+            // 预热节点平均执行耗时
+            for (int i = 0; i < 40; i++) {
+                ChainContext<TestContext> chainContext = buildTestContext("req");
+                chainContext.getContextInfo().setSleepTime(20L);
+                testAdmissionControlChain.execute(chainContext, threadPoolExecutor);
+            }
+
+            List<CompletableFuture<ProcessResult<TestContext>>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ChainContext<TestContext> chainContext = buildTestContext("req");
+                chainContext.getContextInfo().setSleepTime(20L);
+                futures.add(testAdmissionControlChain.executeAsync(chainContext, threadPoolExecutor));
+            }
+
+            // 预估排队时间超过链路超时时间时直接拒绝，不进入线程池
+            long startTime = System.currentTimeMillis();
+            ProcessResult<TestContext> processResult = testAdmissionControlChain.execute(buildTestContext("req"), threadPoolExecutor);
+            Assert.assertEquals(ProcessResult.BaseEnum.REJECTED_FAIL.getCode(), processResult.getCode());
+            Assert.assertTrue(System.currentTimeMillis() - startTime < TestAdmissionControlChain.CHAIN_TIMEOUT);
+            futures.forEach(CompletableFuture::join);
+        } finally {
+            threadPoolExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test19() {
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(200L);
+        CompletableFuture<ProcessResult<TestContext>> future = testConcurrencyLimitChain.executeAsync(chainContext);
+
+        // 并发数达到限制时直接返回限流失败
+        ProcessResult<TestContext> processResult = testConcurrencyLimitChain.execute(buildTestContext("req"));
+        Assert.assertEquals(ProcessResult.BaseEnum.LIMITED_FAIL.getCode(), processResult.getCode());
+        Assert.assertTrue(future.join().isSuccess());
+
+        Assert.assertTrue(testConcurrencyLimitChain.execute(buildTestContext("req")).isSuccess());
+    }
+
+    @Test
+    public void test20() throws InterruptedException {
+        resetCircuitBreaker();
+        for (int i = 0; i < 4; i++) {
+            testCircuitBreakerChain.execute(buildTestContext("fail"));
+        }
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.OPEN, getCircuitBreakerState());
+
+        // 打开期间直接拒绝，不执行节点
+        ProcessResult<TestContext> processResult = testCircuitBreakerChain.execute(buildTestContext("req"));
+        Assert.assertNull(processResult.getData().getDataA());
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.OPEN, getCircuitBreakerState());
+
+        // 半开探测失败重新打开
+        Thread.sleep(TestCircuitBreakerChain.OPEN_DURATION + 50);
+        testCircuitBreakerChain.execute(buildTestContext("fail"));
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.OPEN, getCircuitBreakerState());
+
+        // 半开探测成功关闭
+        Thread.sleep(TestCircuitBreakerChain.OPEN_DURATION + 50);
+        processResult = testCircuitBreakerChain.execute(buildTestContext("req"));
+        Assert.assertEquals("dataA", processResult.getData().getDataA());
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.CLOSED, getCircuitBreakerState());
+    }
+
+    @Test
+    public void test21() {
+        // 重试前退避等待
+        // 失败结果不带数据，执行次数从上下文中获取
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        long startTime = System.currentTimeMillis();
+        Assert.assertFalse(testRetryChain.execute(chainContext).isSuccess());
+        Assert.assertEquals("xx", chainContext.getContextInfo().getDataA());
+        Assert.assertTrue(System.currentTimeMillis() - startTime >= TestRetryChain.BASE_BACKOFF / 2);
+
+        // 重试预算耗尽后不再重试，重试次数不超过初始预算加首次执行次数的比例
+        int retryCount = 1;
+        int noRetryCount = 0;
+        for (int i = 0; i < 100; i++) {
+            chainContext = buildTestContext("req");
+            testRetryChain.execute(chainContext);
+            if (chainContext.getContextInfo().getDataA().length() > 1) {
+                retryCount++;
+            } else {
+                noRetryCount++;
+            }
+        }
+        Assert.assertTrue(retryCount <= 10 + 101 * 0.1);
+        Assert.assertTrue(noRetryCount >= 100 - 10 - 101 * 0.1);
+    }
+
+    @Test
+    public void test22() {
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(300L);
+        long startTime = System.currentTimeMillis();
+        ProcessResult<TestContext> processResult = testAdmissionControlChain.execute(chainContext);
+
+        // 节点超时时间被链路剩余时间截断，在链路超时时间内结束
+        Assert.assertEquals(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), processResult.getCode());
+        Assert.assertTrue(System.currentTimeMillis() - startTime < 300);
+        // 节点开始时的剩余时间不超过链路超时时间
+        Assert.assertTrue(Long.parseLong(chainContext.getContextInfo().getDataB()) <= TestAdmissionControlChain.CHAIN_TIMEOUT);
+    }
+
+    @Test
+    public void test23() {
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(300L);
+        long startTime = System.currentTimeMillis();
+        ProcessResult<TestContext> processResult = testPartialResultChain.execute(chainContext);
+
+        // 链路超时时只有可放弃节点未完成，返回部分成功
+        Assert.assertEquals(ProcessResult.BaseEnum.PARTIAL_SUCCESS.getCode(), processResult.getCode());
+        Assert.assertEquals("dataA", processResult.getData().getDataA());
+        Assert.assertNull(processResult.getData().getDataE());
+        Assert.assertTrue(System.currentTimeMillis() - startTime < 300);
+    }
+
+    @Test
+    public void test24() {
+        ProcessResult<TestContext> processResult = testStreamChain.execute(buildTestContext("200"));
+        Assert.assertTrue(processResult.isSuccess());
+        Assert.assertEquals(IntStream.rangeClosed(1, 200).mapToObj(String::valueOf).collect(Collectors.joining(",")), processResult.getData().getDataC2());
+        // 下游较慢时通道容量限制上游
+        Assert.assertTrue(Integer.parseInt(processResult.getData().getDataC1()) <= TestStreamSourceNode.CHANNEL_CAPACITY);
+    }
+
+    @Test
+    public void test25() {
+        String req = IntStream.range(0, 40).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        String expected = IntStream.range(0, 40).mapToObj(i -> "v" + i).collect(Collectors.joining(","));
+        for (int i = 0; i < 20; i++) {
+            // 分片并行执行，结果按集合原有顺序合并
+            ProcessResult<TestContext> processResult = testParallelMapChain.execute(buildTestContext(req));
+            Assert.assertTrue(processResult.isSuccess());
+            Assert.assertEquals(expected, processResult.getData().getDataA());
+        }
+    }
+
+    @Test
+    public void test26() {
+        List<ChainContext<TestContext>> chainContexts = new ArrayList<>();
+        for (int i = 0; i < 35; i++) {
+            ChainContext<TestContext> chainContext = buildTestContext(String.valueOf(i));
+            chainContext.getContextInfo().setSleepTime(50L);
+            chainContexts.add(chainContext);
+        }
+        List<ProcessResult<TestContext>> processResults = testBatchChain.executeAll(chainContexts, chainContexts.size());
+
+        // 结果按输入顺序返回
+        Assert.assertEquals(chainContexts.size(), processResults.size());
+        int fullBatchCount = 0;
+        for (int i = 0; i < processResults.size(); i++) {
+            Assert.assertTrue(processResults.get(i).isSuccess());
+            Assert.assertEquals(i + "!", processResults.get(i).getData().getDataC1());
+            int batchSize = Integer.parseInt(processResults.get(i).getData().getDataC2());
+            Assert.assertTrue(batchSize <= TestBatchNode.MAX_BATCH_SIZE);
+            if (batchSize == TestBatchNode.MAX_BATCH_SIZE) {
+                fullBatchCount++;
+            }
+        }
+        // 等待数量达到最大批量时执行，剩余的5个在全部到达后执行
+        Assert.assertEquals(30, fullBatchCount);
+    }
+
+    @Test
+    public void test27() throws InterruptedException {
+        resetCircuitBreaker();
+        // 失败率达到阈值后打开
+        for (int i = 0; i < 4; i++) {
+            testCircuitBreakerChain.execute(buildTestContext("fail"));
+        }
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.OPEN, getCircuitBreakerState());
+
+        // 半开探测被链路剩余时间截断而超时，计入失败重新打开
+        Thread.sleep(TestCircuitBreakerChain.OPEN_DURATION + 50);
+        ProcessResult<TestContext> processResult = testCircuitBreakerChain.execute(buildTestContext("slow"));
+        Assert.assertEquals(ProcessResult.BaseEnum.TIMEOUT_FAIL.getCode(), processResult.getCode());
+        Thread.sleep(50);
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.OPEN, getCircuitBreakerState());
+
+        // 探测次数已归还，再次半开后探测成功关闭
+        Thread.sleep(TestCircuitBreakerChain.OPEN_DURATION + 50);
+        processResult = testCircuitBreakerChain.execute(buildTestContext("req"));
+        Assert.assertEquals("dataA", processResult.getData().getDataA());
+        Assert.assertEquals(NodeCircuitBreaker.StateEnum.CLOSED, getCircuitBreakerState());
+    }
+
+    @Test
+    public void test28() {
+        ChainContext<TestContext> chainContext = buildTestContext("req");
+        chainContext.getContextInfo().setSleepTime(300L);
+        Assert.assertTrue(testAdmissionControlChain.execute(chainContext).isTimeoutFail());
+        Assert.assertTrue(chainContext.isCancelled());
+
+        // 复用上下文再次执行，不带上一次执行的取消状态
+        chainContext.getContextInfo().setSleepTime(null);
+        Assert.assertTrue(testAdmissionControlChain.execute(chainContext).isSuccess());
+        Assert.assertFalse(chainContext.isCancelled());
+    }
+
+    private void assertLatencyStat(LatencyStat latencyStat, boolean isPositive) {
+        Assert.assertTrue(latencyStat.getCount() >= 10);
+        Assert.assertTrue(isPositive ? latencyStat.getP50() > 0 : latencyStat.getP50() >= 0);
+        Assert.assertTrue(latencyStat.getP50() <= latencyStat.getP90());
+        Assert.assertTrue(latencyStat.getP90() <= latencyStat.getP99());
+        Assert.assertTrue(latencyStat.getP99() <= latencyStat.getP999());
+        Assert.assertTrue(latencyStat.getP999() <= latencyStat.getMaxTime());
+    }
+
+    private ChainContext<TestContext> buildTestContext(String req) {
+        ChainContext<TestContext> chainContext = ChainContext.create(TestContext.class);
+        chainContext.getContextInfo().setReq(req);
+        return chainContext;
+    }
+
+    private void resetCircuitBreaker() throws InterruptedException {
+        if (NodeCircuitBreaker.StateEnum.CLOSED != getCircuitBreakerState()) {
+            Thread.sleep(TestCircuitBreakerChain.OPEN_DURATION + 50);
+            testCircuitBreakerChain.execute(buildTestContext("req"));
+        }
+    }
+
+    private NodeCircuitBreaker.StateEnum getCircuitBreakerState() {
+        return Monitor.getNodeCircuitBreakerStat(TestCircuitBreakerChain.class, TestCircuitBreakerNode.class).getState();
+    }
+
+}
@@ -0,0 +1,39 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.AdaptiveNodeTimeout;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestAdaptiveTimeoutChain，节点超时时间为最近耗时的p99的2倍，不低于20毫秒
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestAdaptiveTimeoutChain extends AbstractChain<TestContext> {
+
+    public final static long MIN_NODE_TIMEOUT = 20L;
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestSlowNode.class, AdaptiveNodeTimeout.create(0.99, 2, MIN_NODE_TIMEOUT, 500L));
+    }
+
+}
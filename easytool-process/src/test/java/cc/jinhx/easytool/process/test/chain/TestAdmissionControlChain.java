@@ -0,0 +1,43 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestAdmissionControlChain，开启准入控制
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestAdmissionControlChain extends AbstractChain<TestContext> {
+
+    public final static long CHAIN_TIMEOUT = 200L;
+
+    @Override
+    protected long getChainTimeout() {
+        return CHAIN_TIMEOUT;
+    }
+
+    @Override
+    protected boolean openAdmissionControl() {
+        return true;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestSlowNode.class, () -> 1000L);
+    }
+
+}
@@ -0,0 +1,38 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestBatchNode;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestBatchChain，批量节点依赖的节点执行后才到达，批量执行时等待的上下文按最大批量分批
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestBatchChain extends AbstractChain<TestContext> {
+
+    @Override
+    protected long getChainTimeout() {
+        return 3000L;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestSlowNode.class, () -> 1000L);
+        this.addInterruptNode(TestBatchNode.class, () -> 1000L);
+    }
+
+}
@@ -0,0 +1,37 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.chain.NodeBulkhead;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestBulkheadChain，节点舱壁最多同时执行一个
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestBulkheadChain extends AbstractChain<TestContext> {
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestSlowNode.class, () -> 500L, NodeBulkhead.create(1));
+    }
+
+}
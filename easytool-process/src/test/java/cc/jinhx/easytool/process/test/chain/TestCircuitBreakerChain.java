@@ -0,0 +1,47 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.chain.NodeCircuitBreaker;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestCircuitBreakerNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestCircuitBreakerChain，节点超时时间等于链路超时时间，节点超时总是被链路剩余时间截断
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestCircuitBreakerChain extends AbstractChain<TestContext> {
+
+    public final static long CHAIN_TIMEOUT = 100L;
+
+    public final static long OPEN_DURATION = 200L;
+
+    @Override
+    protected long getChainTimeout() {
+        return CHAIN_TIMEOUT;
+    }
+
+    @Override
+    protected boolean openMonitor() {
+        return true;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addAbandonNode(TestCircuitBreakerNode.class, () -> CHAIN_TIMEOUT);
+        this.addCircuitBreaker(TestCircuitBreakerNode.class, NodeCircuitBreaker.create(0.5, 4, OPEN_DURATION, 1));
+    }
+
+}
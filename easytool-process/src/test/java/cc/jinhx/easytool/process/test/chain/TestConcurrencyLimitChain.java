@@ -0,0 +1,42 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.AdaptiveConcurrencyLimit;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestConcurrencyLimitChain，自适应并发限制固定为1
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestConcurrencyLimitChain extends AbstractChain<TestContext> {
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return AdaptiveConcurrencyLimit.create(1, 1, 1);
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestSlowNode.class, () -> 500L);
+    }
+
+}
@@ -0,0 +1,43 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestHedgeNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestHedgeChain，节点执行20毫秒未完成时提交对冲副本
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestHedgeChain extends AbstractChain<TestContext> {
+
+    public final static long HEDGE_DELAY = 20L;
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected boolean openMonitor() {
+        return true;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addHedgeNode(TestHedgeNode.class, () -> HEDGE_DELAY, () -> 500L);
+    }
+
+}
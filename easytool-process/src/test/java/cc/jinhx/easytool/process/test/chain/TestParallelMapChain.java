@@ -0,0 +1,46 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestParallelMapNode;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TestParallelMapChain，并行节点在16个线程的线程池上执行
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestParallelMapChain extends AbstractChain<TestContext> {
+
+    private static final ExecutorService CHAIN_THREAD_POOL = Executors.newFixedThreadPool(16);
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected ExecutorService getThreadPool() {
+        return CHAIN_THREAD_POOL;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestParallelMapNode.class, () -> 1000L);
+    }
+
+}
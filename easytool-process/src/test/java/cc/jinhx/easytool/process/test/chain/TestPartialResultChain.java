@@ -0,0 +1,45 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestGetDataANode;
+import cc.jinhx.easytool.process.test.node.TestSlowNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestPartialResultChain，开启部分结果，慢节点为抛弃节点，节点超时时间大于链路超时时间
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestPartialResultChain extends AbstractChain<TestContext> {
+
+    public final static long CHAIN_TIMEOUT = 100L;
+
+    @Override
+    protected long getChainTimeout() {
+        return CHAIN_TIMEOUT;
+    }
+
+    @Override
+    protected boolean openPartialResult() {
+        return true;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestGetDataANode.class, () -> 500L);
+        this.addAbandonNode(TestSlowNode.class, () -> 500L);
+    }
+
+}
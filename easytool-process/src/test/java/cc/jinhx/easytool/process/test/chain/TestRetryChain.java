@@ -0,0 +1,41 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.chain.ChainNode;
+import cc.jinhx.easytool.process.chain.RetryPolicy;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestRetryNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestRetryChain，节点总是失败，每次执行最多重试一次，重试预算为执行次数的10%
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestRetryChain extends AbstractChain<TestContext> {
+
+    public final static long BASE_BACKOFF = 20L;
+
+    @Override
+    protected long getChainTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addRetryNode(TestRetryNode.class, ChainNode.RetryTimesEnum.ONE, () -> 500L);
+        this.addRetryPolicy(TestRetryNode.class, RetryPolicy.create(BASE_BACKOFF, BASE_BACKOFF, 0.1));
+    }
+
+}
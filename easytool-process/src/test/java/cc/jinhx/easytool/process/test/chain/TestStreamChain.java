@@ -0,0 +1,38 @@
+package cc.jinhx.easytool.process.test.chain;
+
+import cc.jinhx.easytool.process.chain.AbstractChain;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import cc.jinhx.easytool.process.test.node.TestStreamSinkNode;
+import cc.jinhx.easytool.process.test.node.TestStreamSourceNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * TestStreamChain，源节点和处理节点通过有界通道重叠执行
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestStreamChain extends AbstractChain<TestContext> {
+
+    @Override
+    protected long getChainTimeout() {
+        return 3000L;
+    }
+
+    @Override
+    protected void checkParams(ChainContext<TestContext> chainContext) {
+
+    }
+
+    /**
+     * 设置节点信息
+     */
+    @Override
+    protected void setNodeInfo() {
+        this.addInterruptNode(TestStreamSourceNode.class, () -> 3000L);
+        this.addInterruptNode(TestStreamSinkNode.class, () -> 3000L);
+    }
+
+}
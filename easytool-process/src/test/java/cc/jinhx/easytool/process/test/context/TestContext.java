@@ -17,6 +17,8 @@ public class TestContext {
 
     private String req;
 
+    private Long sleepTime;
+
     // ↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓ 中间数据 ↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓↓
 
     private String dataA;
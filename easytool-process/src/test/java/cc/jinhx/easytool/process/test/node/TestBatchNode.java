@@ -0,0 +1,64 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractBatchNode;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TestBatchNode，dataC1为req加!，dataC2为所在批次的大小
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestBatchNode extends AbstractBatchNode<TestContext> {
+
+    public static final int MAX_BATCH_SIZE = 10;
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return Collections.singleton(TestSlowNode.class);
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void executeBatch(List<ChainContext<TestContext>> chainContexts) {
+        for (ChainContext<TestContext> chainContext : chainContexts) {
+            TestContext contextInfo = chainContext.getContextInfo();
+            contextInfo.setDataC1(contextInfo.getReq() + "!");
+            contextInfo.setDataC2(String.valueOf(chainContexts.size()));
+        }
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
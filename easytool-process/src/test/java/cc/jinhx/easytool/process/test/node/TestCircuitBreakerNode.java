@@ -0,0 +1,61 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * TestCircuitBreakerNode，req为fail时失败，为slow时执行300毫秒
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestCircuitBreakerNode extends AbstractNode<TestContext> {
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return null;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void execute(ChainContext<TestContext> chainContext) {
+        TestContext contextInfo = chainContext.getContextInfo();
+        if ("fail".equals(contextInfo.getReq())) {
+            throw new RuntimeException("fail");
+        }
+        if ("slow".equals(contextInfo.getReq())) {
+            try {
+                Thread.sleep(300L);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        contextInfo.setDataA("dataA");
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
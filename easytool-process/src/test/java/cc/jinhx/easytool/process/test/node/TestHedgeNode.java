@@ -0,0 +1,67 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * TestHedgeNode，第一次执行耗时300毫秒，对冲副本立即完成，dataA为完成的副本
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestHedgeNode extends AbstractNode<TestContext> {
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return null;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void execute(ChainContext<TestContext> chainContext) {
+        TestContext contextInfo = chainContext.getContextInfo();
+        boolean isFirst;
+        synchronized (contextInfo) {
+            isFirst = Objects.isNull(contextInfo.getDataB());
+            contextInfo.setDataB("started");
+        }
+        if (!isFirst) {
+            contextInfo.setDataA("hedge");
+            return;
+        }
+
+        try {
+            Thread.sleep(300L);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        contextInfo.setDataA("first");
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
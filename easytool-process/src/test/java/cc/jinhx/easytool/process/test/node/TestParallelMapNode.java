@@ -0,0 +1,80 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.node.AbstractParallelMapNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TestParallelMapNode，req为逗号分隔的元素，每个元素加前缀v，合并后按逗号拼接到dataA
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestParallelMapNode extends AbstractParallelMapNode<TestContext, String, String> {
+
+    @Override
+    public int getChunkSize() {
+        return 3;
+    }
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return null;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected List<String> getItems(ChainContext<TestContext> chainContext) {
+        return Arrays.asList(chainContext.getContextInfo().getReq().split(","));
+    }
+
+    @Override
+    protected List<String> map(ChainContext<TestContext> chainContext, List<String> chunk) {
+        // 分片耗时随机，完成顺序与集合顺序不同
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        List<String> results = new ArrayList<>(chunk.size());
+        for (String item : chunk) {
+            results.add("v" + item);
+        }
+        return results;
+    }
+
+    @Override
+    protected void merge(ChainContext<TestContext> chainContext, List<String> results) {
+        chainContext.getContextInfo().setDataA(String.join(",", results));
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
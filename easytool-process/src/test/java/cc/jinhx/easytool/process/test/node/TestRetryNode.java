@@ -0,0 +1,53 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * TestRetryNode，总是失败，每次执行在dataA后追加一个字符，dataA长度即为执行次数
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestRetryNode extends AbstractNode<TestContext> {
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return null;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void execute(ChainContext<TestContext> chainContext) {
+        TestContext contextInfo = chainContext.getContextInfo();
+        contextInfo.setDataA(Objects.isNull(contextInfo.getDataA()) ? "x" : contextInfo.getDataA() + "x");
+        throw new RuntimeException("fail");
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * TestSlowNode，记录开始时的链路剩余时间，执行sleepTime毫秒
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestSlowNode extends AbstractNode<TestContext> {
+
+    @Override
+    public Set<Class<? extends AbstractNode>> getDependsOnNodes() {
+        return null;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void execute(ChainContext<TestContext> chainContext) {
+        TestContext contextInfo = chainContext.getContextInfo();
+        contextInfo.setDataB(String.valueOf(chainContext.remainingTime()));
+        if (Objects.nonNull(contextInfo.getSleepTime())) {
+            try {
+                Thread.sleep(contextInfo.getSleepTime());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        contextInfo.setDataE("dataE");
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
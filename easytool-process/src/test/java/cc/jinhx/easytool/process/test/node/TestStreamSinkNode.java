@@ -0,0 +1,58 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractStreamNode;
+import cc.jinhx.easytool.process.node.AbstractStreamProcessorNode;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * TestStreamSinkNode，每条数据处理1毫秒，按接收顺序逗号拼接到dataC2
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestStreamSinkNode extends AbstractStreamProcessorNode<TestContext, Integer, Void> {
+
+    @Override
+    public Class<? extends AbstractStreamNode> getStreamSourceNode() {
+        return TestStreamSourceNode.class;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void process(ChainContext<TestContext> chainContext, Integer item, Consumer<Void> emitter) {
+        try {
+            Thread.sleep(1L);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        TestContext contextInfo = chainContext.getContextInfo();
+        contextInfo.setDataC2(Objects.isNull(contextInfo.getDataC2()) ? String.valueOf(item) : contextInfo.getDataC2() + "," + item);
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}
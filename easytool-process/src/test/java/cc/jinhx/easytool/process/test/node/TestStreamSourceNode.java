@@ -0,0 +1,60 @@
+package cc.jinhx.easytool.process.test.node;
+
+import cc.jinhx.easytool.process.BusinessException;
+import cc.jinhx.easytool.process.chain.ChainContext;
+import cc.jinhx.easytool.process.node.AbstractStreamSourceNode;
+import cc.jinhx.easytool.process.node.StreamChannel;
+import cc.jinhx.easytool.process.test.context.TestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * TestStreamSourceNode，发送1到req，dataC1为发送后输出通道的最大数据量
+ *
+ * @author jinhx
+ * @since 2026-10-18
+ */
+@Component
+public class TestStreamSourceNode extends AbstractStreamSourceNode<TestContext, Integer> {
+
+    public static final int CHANNEL_CAPACITY = 4;
+
+    @Override
+    public int getChannelCapacity() {
+        return CHANNEL_CAPACITY;
+    }
+
+    @Override
+    protected boolean isSkip(ChainContext<TestContext> chainContext) {
+        return false;
+    }
+
+    @Override
+    protected void produce(ChainContext<TestContext> chainContext, Consumer<Integer> emitter) {
+        StreamChannel<Integer> outputChannel = chainContext.getStreamChannel(TestStreamSourceNode.class);
+        int count = Integer.parseInt(chainContext.getContextInfo().getReq());
+        int maxSize = 0;
+        for (int i = 1; i <= count; i++) {
+            emitter.accept(i);
+            maxSize = Math.max(maxSize, outputChannel.size());
+        }
+        chainContext.getContextInfo().setDataC1(String.valueOf(maxSize));
+    }
+
+    @Override
+    public void onUnknowFail(ChainContext<TestContext> chainContext, Exception e) {
+
+    }
+
+    @Override
+    public void onBusinessFail(ChainContext<TestContext> chainContext, BusinessException e) {
+
+    }
+
+    @Override
+    public void onTimeoutFail(ChainContext<TestContext> chainContext) {
+
+    }
+
+}